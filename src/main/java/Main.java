@@ -1,4 +1,5 @@
 import controller.Checker;
+import controller.ExecutionMode;
 import util.CLIOutput;
 
 
@@ -9,6 +10,8 @@ public class Main {
         // first argument args [0]: number of repositories to check
         // second argument args[1]: search term
         // third argument args[2]: quality points
+        // fourth argument args[3]: execution mode, "platform" (default), "virtual" or "pipeline"
+        // fifth argument args[4]: minimum mandatory points, the evaluation of a repository stops, if unreachable
 
         Checker checker;
         int repositoriesToCheck;
@@ -49,6 +52,31 @@ public class Main {
             checker = new Checker();
         }
 
+        if (args.length > 3) {
+            ExecutionMode executionMode = ExecutionMode.fromArgument(args[3]);
+            if (executionMode == null) {
+                CLIOutput.info("The fourth argument must be \"platform\", \"virtual\" or \"pipeline\". " + args[3] + " is invalid.");
+                return;
+            }
+            CLIOutput.info("Analyze repositories with execution mode: " + executionMode);
+            checker.setExecutionMode(executionMode);
+        }
+
+        if (args.length > 4) {
+            int minMandatoryPoints;
+            try {
+                minMandatoryPoints = Integer.parseInt(args[4]);
+            } catch (NumberFormatException e) {
+                minMandatoryPoints = -1;
+            }
+            if (minMandatoryPoints < 1) {
+                CLIOutput.info("The fifth argument must be a positive number of mandatory points. " + args[4] + " is invalid.");
+                return;
+            }
+            CLIOutput.info("Only apply the quality rules with at least " + minMandatoryPoints + " mandatory points");
+            checker.setMinMandatoryPoints(minMandatoryPoints);
+        }
+
         checker.checkRepos(repositoriesToCheck);
 
     }
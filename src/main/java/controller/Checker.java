@@ -5,21 +5,34 @@ import model.RepositoryAspectEval;
 import model.RepoList;
 import model.Repository;
 import org.eclipse.jgit.util.FileUtils;
+import repository_information.RepoCache;
 import util.CLIOutput;
-import util.JsonKeywords;
+import util.KeywordIndex;
+import util.ResultStore;
 import view.Status;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static util.Globals.CLONED_REPOS_PATH;
+import static util.Globals.MAX_REPOS_IN_FLIGHT;
+import static util.Globals.MIN_MANDATORY_POINTS;
+import static util.Globals.RESULT_STORE_PATH;
+import static util.Globals.REUSE_RESULTS;
 
 /**
  * Applies the rules from the {@link controller.rules} package to the {@link Repository} from {@link RepoList}.
@@ -43,6 +56,37 @@ public class Checker {
 
     private final Status status;
 
+    /**
+     * How the repository tasks are executed. Uses a platform thread pool by default.
+     */
+    private ExecutionMode executionMode = ExecutionMode.PLATFORM_POOL;
+
+    /**
+     * Limits the number of repositories analyzed at the same time, independent of the number of threads.
+     */
+    private final Semaphore reposInFlight = new Semaphore(MAX_REPOS_IN_FLIGHT);
+
+    /**
+     * Number of points the mandatory rules have to give, so the quality rules are applied.
+     */
+    private int minMandatoryPoints = MIN_MANDATORY_POINTS;
+
+    /**
+     * Executes the independent mandatory rules of a repository concurrently.
+     * The rules mostly wait on the network, so each rule gets its own virtual thread.
+     */
+    private final ExecutorService ruleExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * The results of the last runs, to skip rules whose input didn't change since.
+     */
+    private final ResultStore resultStore = new ResultStore(RESULT_STORE_PATH);
+
+    /**
+     * Number of rule results taken from the {@link #resultStore} in this run.
+     */
+    private final AtomicInteger reusedResults = new AtomicInteger();
+
     /**
      * Creates a new Checker with the default rules.
      */
@@ -71,14 +115,32 @@ public class Checker {
 
 
 
+    /**
+     * Sets how the repository tasks are executed.
+     *
+     * @param executionMode the mode to use for the next call of {@link #checkRepos(int)}
+     */
+    public void setExecutionMode(ExecutionMode executionMode) {
+        this.executionMode = executionMode;
+    }
+
+    /**
+     * Sets the number of points the mandatory rules have to give, so the quality rules are applied.
+     * The evaluation of a repository stops, as soon as it can't reach these points anymore.
+     *
+     * @param minMandatoryPoints the threshold, at least 1
+     */
+    public void setMinMandatoryPoints(int minMandatoryPoints) {
+        this.minMandatoryPoints = Math.max(1, minMandatoryPoints);
+    }
+
     /**
      * Apply the list of rules to the given number of repositories.
      *
      * @param number of repositories to be checked
      */
     public void checkRepos(int number) {
-        JsonKeywords.checkJson();
-        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        KeywordIndex.load();
 
         int maxResults;
         try {
@@ -97,7 +159,25 @@ public class Checker {
             CLIOutput.info("Can't find enough repositories with given search. Analyzing " + number + " repositories.");
         }
 
+        number = listManager.resume(number);
+        listManager.startDiscovery();
+        if (executionMode == ExecutionMode.PIPELINE) {
+            new RepoPipeline(listManager, rules, status, this::evaluateRules).run(number);
+        } else {
+            checkReposWithExecutor(number);
+        }
 
+        finish();
+
+    }
+
+    /**
+     * Analyzes the repositories with one task per repository on the executor of the {@link #executionMode}.
+     *
+     * @param number of repositories to be checked
+     */
+    private void checkReposWithExecutor(int number) {
+        ExecutorService executor = executionMode.createExecutor();
         CompletionService<Void> repoProcessingService = submitRepoAnalysation(number, executor);
 
         for (int i = 0; i < number; i++) {
@@ -121,9 +201,6 @@ public class Checker {
             System.err.println("Interrupted while waiting for executor to terminate: " + e.getMessage());
             executor.shutdownNow();
         }
-
-        finish();
-
     }
 
     /**
@@ -134,52 +211,150 @@ public class Checker {
      * @return the CompletionService
      */
     private CompletionService<Void> submitRepoAnalysation(int number, ExecutorService executor) {
+        return submitBounded(number, executor, reposInFlight, this::analyseNextRepo);
+    }
+
+    /**
+     * Submits the task the given number of times. Each run holds a permit of the semaphore, so no more runs than
+     * permits are in flight at the same time, independent of the number of threads of the executor.
+     *
+     * @param number of runs of the task
+     * @param executor to execute the runs
+     * @param inFlight bounds the runs in flight
+     * @param task to run
+     * @return the CompletionService the runs are submitted to
+     */
+    static CompletionService<Void> submitBounded(int number, ExecutorService executor, Semaphore inFlight,
+                                                 Runnable task) {
         CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
 
         for (int i = 0; i < number; i++) {
             completionService.submit(() -> {
+                inFlight.acquire();
+                try {
+                    task.run();
+                } finally {
+                    inFlight.release();
+                }
+                return null;
+            });
+        }
+        return completionService;
+    }
+
+    /**
+     * Takes the next repository from the {@link RepoListManager}, applies all rules to it and writes the result.
+     */
+    private void analyseNextRepo() {
+        Repository currentRepo = listManager.getNextRepo();
 
-                Repository currentRepo;
-                    currentRepo = listManager.getNextRepo();
+        if (currentRepo == null) {
+            return;
+        }
 
-                if (currentRepo == null) {
-                    return null;
-                }
+        status.addStatusBar(currentRepo);
+        evaluateRules(currentRepo);
 
-                List<Rule> equippedRules = rules.equipRules(currentRepo);
-                status.addStatusBar(currentRepo);
-                for (Rule rule : equippedRules) {
-                    if (rule.getType() == RuleType.MANDATORY) {
-                        status.updateStatusBar(currentRepo, rule.getClass().getSimpleName());
+        listManager.finishRepo(currentRepo, rules);
 
-                        currentRepo.saveResult(rule, rule.execute());
-                    }
-                }
-                for (Rule rule : equippedRules) {
+        status.removeStatusBar(currentRepo);
+    }
 
-                    // Have to check for each rule to save the 0-point result in the else-if.
-                    if (currentRepo.getOverallPoints() > 0) {
-                        if (rule.getType() == RuleType.QUALITY) {
-                            status.updateStatusBar(currentRepo, rule.getClass().getSimpleName());
-                            currentRepo.saveResult(rule, rule.execute());
-                        }
-                    } else if (rule.getType() == RuleType.QUALITY) {
-                        currentRepo.saveResult(rule, new RepositoryAspectEval("Did not get mandatory points"));
-                    }
+    /**
+     * Applies all rules to the repository and saves the results in it.
+     * The mandatory rules run concurrently, as far as {@link RuleFactory#getRunAfter()} allows it.
+     * A mandatory rule is skipped, if the repository can't reach {@link #minMandatoryPoints} anymore, even with the
+     * maximum points of all outstanding rules.
+     * The quality rules are only executed, if the mandatory rules gave enough points.
+     *
+     * @param currentRepo the repository to evaluate
+     */
+    private void evaluateRules(Repository currentRepo) {
+        List<Rule> equippedRules = rules.equipRules(currentRepo);
+        List<RuleFactory> factories = rules.getAllRules();
+
+        // Maximum points of the mandatory rules, which are not finished yet.
+        AtomicInteger outstandingPoints = new AtomicInteger();
+        for (Rule rule : equippedRules) {
+            if (rule.getType() == RuleType.MANDATORY) {
+                outstandingPoints.addAndGet(rule.getMaxPoints());
+            }
+        }
+
+        // In execution order, the futures of the rules to run after already exist.
+        Map<String, CompletableFuture<Void>> mandatoryRules = new HashMap<>();
+        for (int i : rules.getExecutionOrder()) {
+            Rule rule = equippedRules.get(i);
+            if (rule.getType() != RuleType.MANDATORY) {
+                continue;
+            }
+            List<CompletableFuture<Void>> runAfter = new ArrayList<>();
+            for (String name : factories.get(i).getRunAfter()) {
+                if (mandatoryRules.containsKey(name)) {
+                    runAfter.add(mandatoryRules.get(name));
                 }
+            }
+            mandatoryRules.put(factories.get(i).getName(), CompletableFuture
+                    .allOf(runAfter.toArray(new CompletableFuture[0]))
+                    .thenRunAsync(() -> {
+                        if (currentRepo.getOverallPoints() + outstandingPoints.get() < minMandatoryPoints) {
+                            currentRepo.saveResult(rule, new RepositoryAspectEval("Skipped, " + minMandatoryPoints + " mandatory points not reachable"));
+                        } else {
+                            executeRule(currentRepo, rule);
+                        }
+                        // Only after saving the result, so the reachable points are never underestimated.
+                        outstandingPoints.addAndGet(-rule.getMaxPoints());
+                    }, ruleExecutor));
+        }
+        try {
+            CompletableFuture.allOf(mandatoryRules.values().toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
 
-                listManager.finishRepo(currentRepo, rules);
+        for (Rule rule : equippedRules) {
 
-                status.removeStatusBar(currentRepo);
+            // Have to check for each rule to save the 0-point result in the else-if.
+            if (currentRepo.getOverallPoints() >= minMandatoryPoints) {
+                if (rule.getType() == RuleType.QUALITY) {
+                    executeRule(currentRepo, rule);
+                }
+            } else if (rule.getType() == RuleType.QUALITY) {
+                currentRepo.saveResult(rule, new RepositoryAspectEval("Did not get mandatory points"));
+            }
+        }
+        resultStore.save(currentRepo);
+    }
 
-                return null;
-            });
+    /**
+     * Executes a single rule and saves its result in the repository.
+     * If the input of the rule didn't change since the last run, the result of the last run is reused instead.
+     *
+     * @param currentRepo the repository the rule is working on
+     * @param rule to execute
+     */
+    private void executeRule(Repository currentRepo, Rule rule) {
+        String version = ResultStore.getVersion(currentRepo, rule.getInput());
+        RepositoryAspectEval result = REUSE_RESULTS ? resultStore.getResult(currentRepo, rule, version) : null;
+        if (result != null) {
+            reusedResults.incrementAndGet();
+        } else {
+            status.updateStatusBar(currentRepo, rule.getClass().getSimpleName());
+            result = rule.execute();
         }
-        return completionService;
+        resultStore.putResult(currentRepo, rule, version, result);
+        currentRepo.saveResult(rule, result);
     }
 
     private void finish() {
+        listManager.stopDiscovery();
+        listManager.finishRun();
         status.finish();
+        CLIOutput.info("Saved " + RepoCache.getSavedGeneralInfoRequests() + " requests for the general information of repositories.");
+        CLIOutput.info("Reused " + reusedResults.get() + " results of rules, whose input didn't change since the last run.");
         deleteClonedRepos();
     }
 
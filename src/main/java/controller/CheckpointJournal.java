@@ -0,0 +1,262 @@
+package controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import model.Repository;
+import repository_information.GitHub.SearchCursor;
+import util.CLIOutput;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Write-ahead journal of a run, so an aborted run can be continued with the same search position and queue.
+ * Before repositories are added to the queue, they are written to the journal together with the position of the
+ * search after them. Each repository is written again, when it is started and when its result is written.
+ * One line per event, flushed right away, so the journal survives a killed process.
+ * The journal is rewritten with only the open repositories, when a run starts, and deleted, when a run finishes.
+ */
+final class CheckpointJournal {
+
+    /**
+     * A repository of the queue.
+     *
+     * @param owner of the repository
+     * @param name of the repository
+     */
+    record QueuedRepo(String owner, String name) {
+    }
+
+    /**
+     * State of an aborted run.
+     *
+     * @param number of repositories, the run still had to check
+     * @param cursor position of the search, null for random repositories
+     * @param pending repositories, which were queued or started, but not finished. The started ones first.
+     * @param finished number of repositories, the run finished
+     */
+    record Checkpoint(int number, SearchCursor.State cursor, List<QueuedRepo> pending, int finished) {
+    }
+
+    private final Path path;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Appends to the journal. Null, if no run is started or the journal can't be written. Guarded by this.
+     */
+    private Writer writer;
+
+    CheckpointJournal(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Reads the state of the aborted run, if it searched for the same repositories.
+     *
+     * @param searchTerm of the current run, null if none is given
+     * @param numberOfStars of the current run, -1 if none is given
+     * @return the state of the aborted run, null if there is none
+     */
+    Checkpoint load(String searchTerm, int numberOfStars) {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        JsonNode run = null;
+        SearchCursor.State cursor = null;
+        Map<String, QueuedRepo> queued = new LinkedHashMap<>();
+        Set<String> started = new LinkedHashSet<>();
+        Set<String> finished = new HashSet<>();
+        try {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                JsonNode event;
+                try {
+                    event = objectMapper.readTree(line);
+                } catch (JsonProcessingException e) {
+                    // Only the last line can be incomplete, if the run was killed while writing it.
+                    break;
+                }
+                if (event.has("run")) {
+                    run = event.get("run");
+                } else if (event.has("cursor")) {
+                    cursor = objectMapper.treeToValue(event.get("cursor"), SearchCursor.State.class);
+                } else if (event.has("queued")) {
+                    for (JsonNode repo : event.get("queued")) {
+                        QueuedRepo queuedRepo = new QueuedRepo(repo.path("owner").asText(), repo.path("name").asText());
+                        queued.putIfAbsent(key(queuedRepo.owner(), queuedRepo.name()), queuedRepo);
+                    }
+                } else if (event.has("started")) {
+                    started.add(event.get("started").asText());
+                } else if (event.has("finished")) {
+                    finished.add(event.get("finished").asText());
+                }
+            }
+        } catch (IOException e) {
+            CLIOutput.warning("Couldn't read the checkpoint at " + path + ". Starting a new run.");
+            return null;
+        }
+
+        if (run == null || !Objects.equals(run.path("searchTerm").textValue(), searchTerm)
+                || run.path("numberOfStars").asInt() != numberOfStars) {
+            return null;
+        }
+
+        List<QueuedRepo> pending = new ArrayList<>();
+        for (String key : started) {
+            if (!finished.contains(key) && queued.containsKey(key)) {
+                pending.add(queued.get(key));
+            }
+        }
+        for (Map.Entry<String, QueuedRepo> entry : queued.entrySet()) {
+            if (!finished.contains(entry.getKey()) && !started.contains(entry.getKey())) {
+                pending.add(entry.getValue());
+            }
+        }
+        return new Checkpoint(run.path("number").asInt(), cursor, pending, finished.size());
+    }
+
+    /**
+     * Starts the journal of a run. Replaces the journal of an aborted run with its open repositories.
+     *
+     * @param searchTerm of the run, null if none is given
+     * @param numberOfStars of the run, -1 if none is given
+     * @param number of repositories to check
+     * @param cursor position of the search, null if the search hasn't started or is random
+     * @param pending repositories taken over from an aborted run
+     */
+    synchronized void start(String searchTerm, int numberOfStars, int number, SearchCursor.State cursor,
+                            List<QueuedRepo> pending) {
+        ObjectNode run = objectMapper.createObjectNode();
+        run.putObject("run")
+                .put("searchTerm", searchTerm)
+                .put("numberOfStars", numberOfStars)
+                .put("number", number);
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(path.getParent());
+            try (Writer tmpWriter = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                writeLine(tmpWriter, run);
+                if (cursor != null) {
+                    writeLine(tmpWriter, cursorEvent(cursor));
+                }
+                if (!pending.isEmpty()) {
+                    writeLine(tmpWriter, queuedEvent(pending));
+                }
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            CLIOutput.warning("Couldn't write the checkpoint at " + path + ". The run can't be continued, if it is aborted.");
+            writer = null;
+        }
+    }
+
+    /**
+     * Writes repositories before they are added to the queue, together with the position of the search after them.
+     *
+     * @param repos to be queued
+     * @param cursor position of the search after the repositories, null for random repositories
+     */
+    synchronized void queued(List<Repository> repos, SearchCursor.State cursor) {
+        List<QueuedRepo> queuedRepos = new ArrayList<>(repos.size());
+        for (Repository repo : repos) {
+            queuedRepos.add(new QueuedRepo(repo.getOwner(), repo.getRepositoryName()));
+        }
+        append(queuedEvent(queuedRepos));
+        if (cursor != null) {
+            append(cursorEvent(cursor));
+        }
+    }
+
+    /**
+     * Writes, that a worker took the repository.
+     *
+     * @param repo the started repository
+     */
+    synchronized void started(Repository repo) {
+        append(objectMapper.createObjectNode().put("started", key(repo.getOwner(), repo.getRepositoryName())));
+    }
+
+    /**
+     * Writes, that the result of the repository is written.
+     *
+     * @param repo the finished repository
+     */
+    synchronized void finished(Repository repo) {
+        append(objectMapper.createObjectNode().put("finished", key(repo.getOwner(), repo.getRepositoryName())));
+    }
+
+    /**
+     * Deletes the journal after the run is finished.
+     */
+    synchronized void delete() {
+        try {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            CLIOutput.warning("Couldn't delete the checkpoint at " + path + ". Delete it manually, to start a new run.");
+        }
+    }
+
+    private ObjectNode cursorEvent(SearchCursor.State cursor) {
+        ObjectNode event = objectMapper.createObjectNode();
+        event.set("cursor", objectMapper.valueToTree(cursor));
+        return event;
+    }
+
+    private ObjectNode queuedEvent(List<QueuedRepo> repos) {
+        ObjectNode event = objectMapper.createObjectNode();
+        ArrayNode queued = event.putArray("queued");
+        for (QueuedRepo repo : repos) {
+            queued.addObject().put("owner", repo.owner()).put("name", repo.name());
+        }
+        return event;
+    }
+
+    /**
+     * Appends an event and flushes it, so it is in the file, even if the process is killed.
+     * Not forced to the disk, that would cost more than the journal saves.
+     */
+    private void append(JsonNode event) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writeLine(writer, event);
+            writer.flush();
+        } catch (IOException e) {
+            CLIOutput.warning("Couldn't write the checkpoint at " + path + ". The run can't be continued, if it is aborted.");
+            writer = null;
+        }
+    }
+
+    private void writeLine(Writer target, JsonNode event) throws IOException {
+        target.write(objectMapper.writeValueAsString(event));
+        target.write(System.lineSeparator());
+    }
+
+    private static String key(String owner, String name) {
+        return owner + "/" + name;
+    }
+}
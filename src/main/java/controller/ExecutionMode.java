@@ -0,0 +1,59 @@
+package controller;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Represents the ways the {@link Checker} can execute the analysis of the repositories.
+ */
+public enum ExecutionMode {
+
+    /**
+     * A fixed pool with one platform thread per available processor.
+     */
+    PLATFORM_POOL,
+
+    /**
+     * One virtual thread per repository. The number of repositories analyzed at the same time is not bound to the
+     * number of processors, but to {@link util.Globals#MAX_REPOS_IN_FLIGHT}.
+     */
+    VIRTUAL_THREADS,
+
+    /**
+     * A {@link RepoPipeline} with one stage per processing step. Each stage has its own workers and the stages are
+     * connected by bounded queues.
+     */
+    PIPELINE;
+
+    /**
+     * Creates the executor the repository tasks are submitted to.
+     * Not available for the {@link #PIPELINE}, which has no single executor.
+     *
+     * @return a new executor for this mode
+     */
+    public ExecutorService createExecutor() {
+        return switch (this) {
+            case PLATFORM_POOL -> Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            case VIRTUAL_THREADS -> Executors.newVirtualThreadPerTaskExecutor();
+            case PIPELINE -> throw new IllegalStateException("The pipeline creates the workers of each stage itself.");
+        };
+    }
+
+    /**
+     * Parses the execution mode from a command line argument. The argument is case-insensitive.
+     *
+     * @param argument e.g. "virtual", "platform" or "pipeline"
+     * @return the matching mode or null, if the argument doesn't match any mode
+     */
+    public static ExecutionMode fromArgument(String argument) {
+        if (argument == null) {
+            return null;
+        }
+        return switch (argument.toLowerCase()) {
+            case "platform", "platform_pool" -> PLATFORM_POOL;
+            case "virtual", "virtual_threads" -> VIRTUAL_THREADS;
+            case "pipeline" -> PIPELINE;
+            default -> null;
+        };
+    }
+}
@@ -1,29 +1,48 @@
 package controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import model.RepoList;
 import model.Repository;
 import repository_information.GitHub.GithubCommunication;
+import repository_information.GitHub.GithubRateLimitCheck;
+import repository_information.GitHub.RateResource;
+import repository_information.GitHub.SearchCursor;
+import repository_information.RateLimitMandatories;
 import util.CLIOutput;
 import util.CSVHandler;
+import util.JsonUtil;
 
 import java.io.IOException;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.InputMismatchException;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
+import static util.Globals.CHECKPOINT_PATH;
 import static util.Globals.DEFAULT_NUMBER_OF_STAR;
+import static util.Globals.MAX_LOOK_AHEAD;
+import static util.Globals.METADATA_BATCH_SIZE;
+import static util.Globals.MIN_LOOK_AHEAD;
+import static util.Globals.SEARCH_PAGE_SIZE;
 
 
 /**
  * Manages the list of repositories and provides the next repository to check.
- * Keeps track of processed repositories. Gets new repositories, if the number of unprocessed is under {@link #THRESHOLD}.
+ * Keeps track of processed repositories. A background discovery thread keeps a look-ahead of unprocessed repositories
+ * in the list, so the workers only take repositories and never wait for a search request.
+ * The look-ahead is sized by the observed consumption and the remaining search rate limit, see {@link #getLookAhead()}.
  */
 public class RepoListManager {
 
     public RepoListManager(RuleCollection ruleCollection) {
-        csvHandler = new CSVHandler("result.csv");
+        this(new CSVHandler("result.csv"), GithubRateLimitCheck.getInstance());
         csvHandler.createResultSchema(ruleCollection);
         csvHandler.createCsv();
     }
@@ -38,6 +57,17 @@ public class RepoListManager {
         this.numberOfStars = numberOfStars;
     }
 
+    /**
+     * Creates a manager for random repositories, which doesn't create the CSV file.
+     *
+     * @param csvHandler to write the results with
+     * @param rateLimit of the search, to size the look-ahead
+     */
+    RepoListManager(CSVHandler csvHandler, RateLimitMandatories rateLimit) {
+        this.csvHandler = csvHandler;
+        this.rateLimit = rateLimit;
+    }
+
 
     /**
      * Handles the writing of the results to a CSV file.
@@ -50,9 +80,46 @@ public class RepoListManager {
     private final RepoList repoList = RepoList.getInstance();
 
     /**
-     * Starts getting new repositories when the number of unprocessed repositories is below this threshold.
+     * Maximum number of seconds to wait for a new repository, if the list is empty.
+     */
+    private static final int NEXT_REPO_TIMEOUT = 10;
+
+    /**
+     * Interval in which the discovery checks the look-ahead and measures the consumption, if it isn't woken up before.
+     */
+    private static final long DISCOVERY_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Weight of a new measurement in the moving averages of the consumption rate and the search duration.
+     */
+    private static final double SMOOTHING = 0.3;
+
+    private final RateLimitMandatories rateLimit;
+
+    /**
+     * Thread getting new repositories in the background. Null, if the discovery is not started.
      */
-    private static final int THRESHOLD = 5;
+    private volatile Thread discovery;
+
+    /**
+     * True, if the search has no further results.
+     */
+    private volatile boolean exhausted = false;
+
+    /**
+     * Number of repositories taken by the workers.
+     */
+    private final AtomicLong consumed = new AtomicLong();
+
+    /**
+     * Moving average of the repositories taken per second. Only used by the discovery thread.
+     */
+    private double consumptionRate = 0;
+
+    /**
+     * Moving average of the seconds a search request takes. Only used by the discovery thread.
+     */
+    private double searchDuration = 1;
 
 
     private String searchTerm;
@@ -62,61 +129,285 @@ public class RepoListManager {
     private int numberOfStars = -1;
 
     /**
-     * Gets the next repository to check.
-     * @return next repository
+     * Position of the search, if a search term or a number of stars is given. Null for random repositories.
+     * Only used by the discovery thread.
+     */
+    private SearchCursor searchCursor;
+
+    /**
+     * Records the queue and the position of the search, so an aborted run can be continued with {@link #resume(int)}.
      */
-    public synchronized Repository getNextRepo() {
-        checkUnprocessedRepoNumber();
+    private final CheckpointJournal journal = new CheckpointJournal(CHECKPOINT_PATH);
 
+    /**
+     * Continues an aborted run, if it searched for the same repositories: restores the position of the search and
+     * queues the repositories, which weren't finished. The started ones are queued first.
+     * Starts the checkpoint of this run. Has to be called before {@link #startDiscovery()}.
+     *
+     * @param number of repositories to check, if no run is continued
+     * @return number of repositories still to check
+     */
+    public int resume(int number) {
+        CheckpointJournal.Checkpoint checkpoint = journal.load(searchTerm, numberOfStars);
+        List<CheckpointJournal.QueuedRepo> pending = List.of();
+        if (checkpoint != null) {
+            number = Math.max(0, checkpoint.number() - checkpoint.finished());
+            pending = checkpoint.pending();
+            if (checkpoint.cursor() != null) {
+                searchCursor = new SearchCursor(checkpoint.cursor());
+                exhausted = searchCursor.isFinished();
+            }
+
+            List<Repository> repos = new ArrayList<>(pending.size());
+            for (CheckpointJournal.QueuedRepo queuedRepo : pending) {
+                repos.add(new Repository(queuedRepo.name(), queuedRepo.owner()));
+            }
+            preloadMetadata(repos);
+            for (Repository repo : repos) {
+                repoList.addSingleRepo(repo);
+            }
+            CLIOutput.info("Continuing the aborted run: " + checkpoint.finished() + " repositories finished, "
+                    + pending.size() + " queued, " + number + " still to check.");
+        }
+        journal.start(searchTerm, numberOfStars, number, searchCursor == null ? null : searchCursor.getState(), pending);
+        return number;
+    }
+
+    /**
+     * Checks if the search has no further results.
+     *
+     * @return true, if the discovery stopped or will stop, because the search is exhausted
+     */
+    boolean isExhausted() {
+        return exhausted;
+    }
+
+    /**
+     * Deletes the checkpoint of the run, after all repositories are checked.
+     */
+    public void finishRun() {
+        journal.delete();
+    }
 
-        // If no new repositories are available, wait for 10 seconds.
-        // If still no new repositories are available, throw an TimeoutException
-        for (int i = 0; i < 10; i++) {
-            if (repoList.size() == 0) {
-                try {
-                    TimeUnit.SECONDS.sleep(1);
-                } catch (InterruptedException e) {
-                    continue; // test again if the list is already filled
-                }
-            } else {
-                break;
+    /**
+     * Gets the next repository to check. Only takes the repository from the list, the discovery started with
+     * {@link #startDiscovery()} gets new ones.
+     * If no repository is available, waits up to {@link #NEXT_REPO_TIMEOUT} seconds for a new one.
+     *
+     * @return next repository, null if no repository is available in time or the search has no further results
+     */
+    public Repository getNextRepo() {
+        try {
+            if (exhausted && repoList.size() == 0) {
+                return null;
+            }
+            Repository next = repoList.getNext(NEXT_REPO_TIMEOUT, TimeUnit.SECONDS);
+            if (next != null) {
+                consumed.incrementAndGet();
+                journal.started(next);
             }
+            return next;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             return null;
+        } finally {
+            // Let the discovery check the look-ahead again.
+            Thread thread = discovery;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    /**
+     * Starts the discovery of new repositories in the background. Does nothing, if it is already started.
+     */
+    public synchronized void startDiscovery() {
+        if (discovery == null) {
+            discovery = Thread.ofVirtual().name("repository-discovery").start(this::discover);
+        }
+    }
+
+    /**
+     * Stops the discovery of new repositories.
+     */
+    public synchronized void stopDiscovery() {
+        if (discovery != null) {
+            discovery.interrupt();
+            discovery = null;
+        }
+    }
+
+    /**
+     * Keeps the number of unprocessed repositories at the look-ahead, till the search has no further results or the
+     * discovery is stopped.
+     */
+    private void discover() {
+        long lastMeasurement = System.nanoTime();
+        long lastConsumed = 0;
+
+        while (!Thread.currentThread().isInterrupted() && !exhausted) {
+            long now = System.nanoTime();
+            if (now - lastMeasurement >= DISCOVERY_INTERVAL) {
+                long consumedNow = consumed.get();
+                double rate = (consumedNow - lastConsumed) / ((now - lastMeasurement) / 1e9);
+                consumptionRate = (1 - SMOOTHING) * consumptionRate + SMOOTHING * rate;
+                lastMeasurement = now;
+                lastConsumed = consumedNow;
+            }
+
+            if (repoList.size() >= getLookAhead()) {
+                LockSupport.parkNanos(DISCOVERY_INTERVAL);
+                continue;
+            }
+
+            int added;
+            long start = System.nanoTime();
+            try {
+                //getTestRepos();
+                added = getNewRepos();
+            } catch (RuntimeException e) {
+                CLIOutput.error(e.getMessage());
+                added = -1;
+            }
+            searchDuration = (1 - SMOOTHING) * searchDuration + SMOOTHING * ((System.nanoTime() - start) / 1e9);
+
+            if (added < 0) {
+                // No answer, e.g., due to the rate limit. Try again later, at the latest after the reset.
+                long backOff = Math.min(rateLimit.getTimeTillReset(RateResource.SEARCH), TimeUnit.MINUTES.toMillis(1));
+                pause(TimeUnit.MILLISECONDS.toNanos(Math.max(backOff, 1000)));
+            } else if (added == 0 && !exhausted) {
+                // Only known repositories, the search requests aren't paced, so they would use up the rate limit.
+                pause(DISCOVERY_INTERVAL);
+            }
+        }
+    }
+
+    /**
+     * Pauses the discovery. Unlike the wait for the look-ahead, a worker taking a repository doesn't end the pause.
+     *
+     * @param nanos to pause
+     */
+    private static void pause(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        long remaining = nanos;
+        while (remaining > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+            remaining = deadline - System.nanoTime();
         }
+    }
 
-        return repoList.getNext();
+    /**
+     * Calculates the number of unprocessed repositories to keep in the list, see
+     * {@link #getLookAhead(RateLimitMandatories, double, double)}.
+     *
+     * @return number of repositories, between {@link util.Globals#MIN_LOOK_AHEAD} and {@link util.Globals#MAX_LOOK_AHEAD}
+     */
+    private int getLookAhead() {
+        return getLookAhead(rateLimit, consumptionRate, searchDuration);
+    }
+
+    /**
+     * Calculates the number of unprocessed repositories to keep in the list.
+     * The look-ahead has to last, till the next search request has been answered. That is the duration of the request
+     * plus the time, the remaining search rate limit allows per request till the reset.
+     *
+     * @param rateLimit of the search
+     * @param consumptionRate repositories taken per second
+     * @param searchDuration seconds a search request takes
+     * @return number of repositories, between {@link util.Globals#MIN_LOOK_AHEAD} and {@link util.Globals#MAX_LOOK_AHEAD}
+     */
+    static int getLookAhead(RateLimitMandatories rateLimit, double consumptionRate, double searchDuration) {
+        int requestsLeft = rateLimit.getRequestsLeft(RateResource.SEARCH);
+        if (requestsLeft <= 0) {
+            return MAX_LOOK_AHEAD;
+        }
+        double secondsTillNextSearch = searchDuration;
+        long timeTillReset = rateLimit.getTimeTillReset(RateResource.SEARCH);
+        if (timeTillReset > 0 && timeTillReset != Long.MAX_VALUE) {
+            secondsTillNextSearch += timeTillReset / 1000.0 / requestsLeft;
+        }
+        // Twice the expected need, so a slow search doesn't empty the list.
+        int lookAhead = (int) Math.ceil(2 * consumptionRate * secondsTillNextSearch);
+        return Math.clamp(lookAhead, MIN_LOOK_AHEAD, MAX_LOOK_AHEAD);
     }
 
     /**
      * Gets new repositories from the GitHub API.
      *
+     * @return number of new repositories added to the list, -1 if the search couldn't be answered
      */
-    private void getNewRepos() {
+    private int getNewRepos() {
 
         List<Repository> repos;
         try {
-            if (searchTerm != null && numberOfStars >= 0) {
-                repos = GithubCommunication.getInstance().getTenRepository(searchTerm, numberOfStars);
-            } else if (searchTerm != null) {
-                repos = GithubCommunication.getInstance().getTenRepository(searchTerm, DEFAULT_NUMBER_OF_STAR);
-            } else if (numberOfStars >= 0) {
-                repos = GithubCommunication.getInstance().getTenRepository(null, numberOfStars);
-            } else {
-                repos = GithubCommunication.getInstance().getTenRepository();
-            }
+            repos = requestRepos();
              if (repos == null) {
-                 checkUnprocessedRepoNumber();
-                 return;
+                 return -1;
              } else if (repos.isEmpty()) {
-                 return;
+                 // A date range of the search may be empty, only the end of the search ends the discovery.
+                 exhausted = searchCursor == null || searchCursor.isFinished();
+                 return 0;
              }
         } catch (JsonProcessingException e) {
             throw new InputMismatchException("Error while getting new repositories.");
         }
 
+        // Only the new repositories, so no metadata is requested and no repository is journaled twice.
+        Set<String> identifiers = new HashSet<>();
+        List<Repository> newRepos = new ArrayList<>(repos.size());
         for (Repository repo : repos) {
+            if (!repoList.isKnown(repo) && identifiers.add(repo.getIdentifier())) {
+                newRepos.add(repo);
+            }
+        }
+
+        // Before the repositories are added, so no worker requests the metadata on its own.
+        preloadMetadata(newRepos);
+        journal.queued(newRepos, searchCursor == null ? null : searchCursor.getState());
+
+        int added = 0;
+        for (Repository repo : newRepos) {
             if (repoList.addSingleRepo(repo)) {
                 CLIOutput.info("Added repo: " + repo.getRepositoryName() + " by " + repo.getOwner());
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Requests the next page of the search, or random repositories, if neither a search term nor a number of stars
+     * is given.
+     *
+     * @return the found repositories, empty if the current range of the search has none, null if the search
+     *         couldn't be answered
+     * @throws JsonProcessingException if the answer can't be parsed
+     */
+    List<Repository> requestRepos() throws JsonProcessingException {
+        if (searchTerm != null || numberOfStars >= 0) {
+            if (searchCursor == null) {
+                searchCursor = new SearchCursor(searchTerm, numberOfStars >= 0 ? numberOfStars : DEFAULT_NUMBER_OF_STAR, SEARCH_PAGE_SIZE);
+            }
+            return GithubCommunication.getInstance().getRepositoryPage(searchCursor);
+        }
+        return GithubCommunication.getInstance().getTenRepository();
+    }
+
+    /**
+     * Requests the metadata of the repositories in batches of {@link util.Globals#METADATA_BATCH_SIZE}, instead of
+     * one REST request for the general information and one GraphQL request for the owner per repository.
+     * Repositories without metadata request it on their own later.
+     *
+     * @param repos to request the metadata of
+     */
+    void preloadMetadata(List<Repository> repos) {
+        for (int from = 0; from < repos.size(); from += METADATA_BATCH_SIZE) {
+            List<Repository> batch = repos.subList(from, Math.min(from + METADATA_BATCH_SIZE, repos.size()));
+            Map<Repository, JsonNode> metadata = GithubCommunication.getInstance().getMetadata(batch);
+            for (Map.Entry<Repository, JsonNode> entry : metadata.entrySet()) {
+                entry.getKey().preloadMetadata(JsonUtil.parseGraphQLGeneralInfo(entry.getValue()),
+                        JsonUtil.parseGraphQLOwnersRepositories(entry.getValue()));
             }
         }
     }
@@ -131,26 +422,12 @@ public class RepoListManager {
         CLIOutput.success("repo: " + repo.getRepositoryName() + " of " + repo.getOwner() + " got: " + repo.getOverallPoints() + " points");
         try {
             csvHandler.writeResult(repo, ruleCollection);
+            journal.finished(repo);
         } catch (IOException e) {
             CLIOutput.error("Error while writing to CSV file. Please note: " + repo.getIdentifier() + " got: " + repo.getOverallPoints());
         }
     }
 
-    /**
-     * Checks if the number of unprocessed repositories is below the threshold.
-     * Triggers the refill if necessary
-     */
-    private void checkUnprocessedRepoNumber() {
-
-        // In loop to get repositories, to get other repositories if repositories were found again.
-        for (int i = 0; i < 2; i++) {
-            if (repoList.size() < THRESHOLD){
-                //getTestRepos();
-                getNewRepos();
-            }
-        }
-    }
-
     private void getTestRepos() {
         //Gold Standard:
         repoList.addSingleRepo(new Repository("TeaStore", "DescartesResearch"));
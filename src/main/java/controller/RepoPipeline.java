@@ -0,0 +1,308 @@
+package controller;
+
+import exceptions.CloneProhibitedException;
+import model.Repository;
+import util.CLIOutput;
+import view.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static util.Globals.PIPELINE_EVALUATION_WORKERS;
+import static util.Globals.PIPELINE_NETWORK_WORKERS;
+import static util.Globals.PIPELINE_QUEUE_CAPACITY;
+
+/**
+ * Analyzes repositories in stages: discover, fetch metadata and structure, fetch text files, evaluate rules and
+ * persist the result. Each stage has its own workers, sized for what the stage waits on. The stages are connected
+ * by bounded queues, so a full queue in front of the CSV writer stops the discovery of new repositories in the
+ * {@link RepoListManager}.
+ */
+final class RepoPipeline {
+
+    /**
+     * Element of the queues between the stages.
+     *
+     * @param repository the repository to process, null for the end of the input
+     */
+    private record Item(Repository repository) {
+
+        /**
+         * Signals a worker that no more repositories will follow.
+         */
+        static final Item END = new Item(null);
+    }
+
+    /**
+     * Provides the next repository, null if there is none.
+     */
+    private final Supplier<Repository> source;
+
+    private final Consumer<Repository> fetchMetadata;
+
+    private final Consumer<Repository> fetchFiles;
+
+    /**
+     * Applies the rules to a repository.
+     */
+    private final Consumer<Repository> evaluation;
+
+    /**
+     * Writes the result of a repository.
+     */
+    private final Consumer<Repository> persist;
+
+    /**
+     * Releases a repository, whose processing failed in a stage.
+     */
+    private final Consumer<Repository> drop;
+
+    private final List<Stage> stages = new ArrayList<>();
+
+    /**
+     * Released, when the last stage finished its last repository.
+     */
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    /**
+     * Creates a new pipeline.
+     *
+     * @param listManager provides the repositories and writes the results
+     * @param rules the rules the results are written for
+     * @param status to display the progress
+     * @param evaluation applies the rules to a repository
+     */
+    RepoPipeline(RepoListManager listManager, RuleCollection rules, Status status, Consumer<Repository> evaluation) {
+        this(() -> {
+                    Repository repository = listManager.getNextRepo();
+                    if (repository != null) {
+                        status.addStatusBar(repository);
+                    }
+                    return repository;
+                },
+                RepoPipeline::fetchMetadata,
+                RepoPipeline::fetchFiles,
+                evaluation,
+                repository -> {
+                    listManager.finishRepo(repository, rules);
+                    status.removeStatusBar(repository);
+                },
+                repository -> {
+                    try {
+                        repository.finish();
+                    } catch (RuntimeException e) {
+                        // The repository is dropped anyway.
+                    }
+                    status.removeStatusBar(repository);
+                });
+    }
+
+    /**
+     * Creates a new pipeline with the given steps for its stages.
+     *
+     * @param source provides the next repository, null if there is none
+     * @param fetchMetadata step of the first stage
+     * @param fetchFiles step of the second stage
+     * @param evaluation step of the third stage
+     * @param persist step of the last stage
+     * @param drop releases a repository, whose processing failed in a stage
+     */
+    RepoPipeline(Supplier<Repository> source, Consumer<Repository> fetchMetadata, Consumer<Repository> fetchFiles,
+                 Consumer<Repository> evaluation, Consumer<Repository> persist, Consumer<Repository> drop) {
+        this.source = source;
+        this.fetchMetadata = fetchMetadata;
+        this.fetchFiles = fetchFiles;
+        this.evaluation = evaluation;
+        this.persist = persist;
+        this.drop = drop;
+    }
+
+    /**
+     * Analyzes the given number of repositories and blocks until all results are written.
+     *
+     * @param number of repositories to be checked
+     */
+    void run(int number) {
+        Stage persist = new Stage("persist", Executors.newSingleThreadExecutor(), 1, null, this.persist);
+        Stage evaluate = new Stage("evaluate",
+                Executors.newFixedThreadPool(PIPELINE_EVALUATION_WORKERS), PIPELINE_EVALUATION_WORKERS, persist, evaluation);
+        Stage fetchFiles = new Stage("fetch-files", Executors.newFixedThreadPool(PIPELINE_NETWORK_WORKERS,
+                Thread.ofVirtual().name("fetch-files-", 0).factory()), PIPELINE_NETWORK_WORKERS, evaluate, this.fetchFiles);
+        Stage fetchMetadata = new Stage("fetch-metadata", Executors.newFixedThreadPool(PIPELINE_NETWORK_WORKERS,
+                Thread.ofVirtual().name("fetch-metadata-", 0).factory()), PIPELINE_NETWORK_WORKERS, fetchFiles, this.fetchMetadata);
+
+        for (Stage stage : stages) {
+            stage.start();
+        }
+
+        ExecutorService discovery = Executors.newSingleThreadExecutor();
+        discovery.submit(() -> discover(number, fetchMetadata));
+
+        try {
+            finished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            CLIOutput.error("Interrupted while waiting for the pipeline to finish.");
+        }
+        discovery.shutdownNow();
+        for (Stage stage : stages) {
+            stage.workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets the repositories from the {@link RepoListManager}. Blocks, if the next stage is full.
+     *
+     * @param number of repositories to discover
+     * @param next stage to pass the repositories to
+     */
+    private void discover(int number, Stage next) {
+        try {
+            for (int i = 0; i < number; i++) {
+                Repository repository = source.get();
+                if (repository == null) {
+                    continue;
+                }
+                next.input.put(new Item(repository));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            CLIOutput.repositoryProcessingError(e.getMessage());
+        } finally {
+            next.endOfInput();
+        }
+    }
+
+    /**
+     * Requests the general information and the structure, so they are cached for the next stages.
+     *
+     * @param repository to fetch the metadata of
+     */
+    private static void fetchMetadata(Repository repository) {
+        repository.generalInfo();
+        try {
+            repository.getStructure();
+        } catch (CloneProhibitedException e) {
+            // The rules will get the same exception again and save it as their result.
+        }
+    }
+
+    /**
+     * Requests the text files and the readme, so they are cached for the rules.
+     *
+     * @param repository to fetch the files of
+     */
+    private static void fetchFiles(Repository repository) {
+        try {
+            // Only the first batch, the rules stop early, if they found enough in it.
+            repository.forEachTextfileBatch(batch -> false);
+            repository.getReadme();
+        } catch (CloneProhibitedException e) {
+            // The rules will get the same exception again and save it as their result.
+        }
+    }
+
+    /**
+     * Drops a repository, whose processing failed in a stage.
+     *
+     * @param repository to drop
+     * @param stage the name of the stage that failed
+     * @param e the cause of the failure
+     */
+    private void abort(Repository repository, String stage, RuntimeException e) {
+        CLIOutput.repositoryProcessingError(repository.getIdentifier() + " in stage " + stage + ": " + e.getMessage());
+        drop.accept(repository);
+    }
+
+    /**
+     * A processing step with its own workers. Takes the repositories from its input queue and passes them to the next
+     * stage after processing.
+     */
+    private final class Stage {
+
+        private final String name;
+
+        private final ExecutorService workers;
+
+        private final int numberOfWorkers;
+
+        private final BlockingQueue<Item> input = new ArrayBlockingQueue<>(PIPELINE_QUEUE_CAPACITY);
+
+        /**
+         * The stage processing the repositories afterward. Null for the last stage.
+         */
+        private final Stage next;
+
+        private final Consumer<Repository> step;
+
+        private final AtomicInteger runningWorkers;
+
+        Stage(String name, ExecutorService workers, int numberOfWorkers, Stage next, Consumer<Repository> step) {
+            this.name = name;
+            this.workers = workers;
+            this.numberOfWorkers = numberOfWorkers;
+            this.next = next;
+            this.step = step;
+            this.runningWorkers = new AtomicInteger(numberOfWorkers);
+            stages.add(this);
+        }
+
+        void start() {
+            for (int i = 0; i < numberOfWorkers; i++) {
+                workers.submit(this::work);
+            }
+        }
+
+        /**
+         * Tells every worker of this stage, that no more repositories will follow.
+         */
+        void endOfInput() {
+            for (int i = 0; i < numberOfWorkers; i++) {
+                try {
+                    input.put(Item.END);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private void work() {
+            try {
+                Item item;
+                while ((item = input.take()) != Item.END) {
+                    Repository repository = item.repository();
+                    try {
+                        step.accept(repository);
+                    } catch (RuntimeException e) {
+                        abort(repository, name, e);
+                        continue;
+                    }
+                    if (next != null) {
+                        next.input.put(item);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                // The last worker of the stage passes the end on.
+                if (runningWorkers.decrementAndGet() == 0) {
+                    if (next != null) {
+                        next.endOfInput();
+                    } else {
+                        finished.countDown();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -2,14 +2,25 @@ package controller;
 
 import model.RepositoryAspectEval;
 import model.Repository;
+import util.KeywordMatcher;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents a rule that can be applied to a repository. The rules need to be registered in {@link RuleCollection#RuleCollection()}.
  */
 public abstract class Rule {
 
+    /**
+     * Maximal number of cached scanners. The rules search for the same lists of terms in every repository, single
+     * terms, e.g., the name of the repository, aren't cached at all.
+     */
+    private static final int MAX_CACHED_SCANNERS = 1024;
+
+    private static final Map<List<String>, TermScanner> SCANNERS = new ConcurrentHashMap<>();
+
     /**
      * The type of the rule.
      */
@@ -39,6 +50,14 @@ public abstract class Rule {
      */
     public abstract RepositoryAspectEval execute();
 
+    /**
+     * Returns the maximum number of points, the rule can give to a repository.
+     * Used to stop the evaluation of a repository early, if it can't reach the required points anymore.
+     *
+     * @return upper bound of the points of {@link #execute()}
+     */
+    public abstract int getMaxPoints();
+
     /**
      * Getter for the type of the rule.
      *
@@ -48,6 +67,16 @@ public abstract class Rule {
         return type;
     }
 
+    /**
+     * Getter for the information of the repository the rule reads.
+     * Most rules read the files of the repository, so this is the default.
+     *
+     * @return input of the rule
+     */
+    public RuleInput getInput() {
+        return RuleInput.CONTENT;
+    }
+
     /**
      * Checks if the text contains the term. The search is case-insensitive.
      * Only returns true if the term is not surrounded by other letters.
@@ -57,7 +86,7 @@ public abstract class Rule {
      * @return true, if the term is found in the text
      */
     protected boolean contains(String text, String term) {
-        return scanText(false, text, term) > 0;
+        return new TermScanner(List.of(term)).countFound(text) > 0;
     }
 
     /**
@@ -70,7 +99,7 @@ public abstract class Rule {
      * @return number of occurrences
      */
     protected int countKeywordsMultipleOccurrence(String text, String term) {
-        return scanText(true, text, term);
+        return new TermScanner(List.of(term)).countAll(text);
     }
 
     /**
@@ -81,11 +110,7 @@ public abstract class Rule {
      * @return number of occurrences
      */
     protected int countMultipleKeywordsMultipleOccurrence(String text, List<String> terms) {
-        int count = 0;
-        for (String term : terms) {
-            count += countKeywordsMultipleOccurrence(text, term);
-        }
-        return count;
+        return getScanner(terms).countAll(text);
     }
 
     /**
@@ -97,46 +122,129 @@ public abstract class Rule {
      * @return number of occurrences
      */
     protected int countMultipleKeywordsSingleOccurrence(String text, List<String> terms) {
-        int count = 0;
-        for (String term : terms) {
-            count += scanText(false, text, term);
-        }
-        return count;
+        return getScanner(terms).countFound(text);
     }
 
     /**
-     * Scans the text for the term.
-     * Only returns true if the term is not surrounded by other letters.
-     * For performance reasons the method can stop after the first occurrence.
-     * May not work in all regions, because of call to {@link String#toLowerCase()}.
+     * Returns the scanner for the terms. Scanners are cached, so the terms are only compiled once.
+     * A single term compiles fast, so it is scanned for with a new {@link TermScanner} instead.
      *
-     * @param count if true, the method will count the occurrences
-     * @param text to search in
-     * @param term to search for
-     * @return number of occurrences, if count is true max. 1
+     * @param terms to search for
+     * @return scanner for the terms
      */
-    private int scanText(boolean count, String text, String term) {
-        if (term.isEmpty()) {
-            return 0;
+    protected static TermScanner getScanner(List<String> terms) {
+        TermScanner scanner = SCANNERS.get(terms);
+        if (scanner != null) {
+            return scanner;
+        }
+        scanner = new TermScanner(terms);
+        if (SCANNERS.size() < MAX_CACHED_SCANNERS) {
+            SCANNERS.putIfAbsent(List.copyOf(terms), scanner);
+        }
+        return scanner;
+    }
+
+    /**
+     * Scans a text for several terms in one pass, without copying the text.
+     * The search is case-insensitive for ASCII letters. Only occurrences, which are not surrounded by other letters,
+     * are counted. Immutable, so it can be shared between rules and threads.
+     */
+    protected static final class TermScanner {
+
+        private final KeywordMatcher matcher;
+
+        /**
+         * Number of terms, which can be found, i.e., which aren't empty.
+         */
+        private final int findable;
+
+        /**
+         * Creates a scanner for the terms. Empty terms are never found.
+         *
+         * @param terms to search for
+         */
+        public TermScanner(List<String> terms) {
+            this(new KeywordMatcher(terms));
+        }
+
+        /**
+         * Creates a scanner for the keywords of a compiled matcher, e.g., from the {@link util.KeywordIndex}.
+         *
+         * @param matcher finds the terms
+         */
+        public TermScanner(KeywordMatcher matcher) {
+            this.matcher = matcher;
+            int nonEmpty = 0;
+            for (int term = 0; term < matcher.size(); term++) {
+                if (!matcher.getKeyword(term).isEmpty()) {
+                    nonEmpty++;
+                }
+            }
+            this.findable = nonEmpty;
+        }
+
+        /**
+         * Counts the occurrences of each term in the text.
+         *
+         * @param text to search in
+         * @param counts receives the number of occurrences by the index of the term, added to the given values
+         */
+        public void count(CharSequence text, int[] counts) {
+            matcher.scan(text, (term, end) -> {
+                if (isWord(text, term, end)) {
+                    counts[term]++;
+                }
+                return true;
+            });
+        }
+
+        /**
+         * Counts all occurrences of all terms in the text.
+         *
+         * @param text to search in
+         * @return number of occurrences
+         */
+        public int countAll(CharSequence text) {
+            int[] counts = new int[matcher.size()];
+            count(text, counts);
+            int sum = 0;
+            for (int count : counts) {
+                sum += count;
+            }
+            return sum;
         }
 
-        text = text.toLowerCase();
-        term = term.toLowerCase();
-        int index = text.indexOf(term);
-        int counter = 0;
-        while (index != -1) {
-            boolean before = (index == 0) || !Character.isLetter(text.charAt(index - 1));
-            boolean after = (index + term.length() == text.length()) || !Character.isLetter(text.charAt(index + term.length()));
-
-            if (!count && before && after) {
-                return 1;
-            } else if (count && before && after) {
-                counter++;
+        /**
+         * Counts the terms, which occur at least once in the text. Stops the scan, as soon as every term is found.
+         *
+         * @param text to search in
+         * @return number of found terms
+         */
+        public int countFound(CharSequence text) {
+            if (findable == 0) {
+                return 0;
             }
+            boolean[] found = new boolean[matcher.size()];
+            int[] numberFound = {0};
+            matcher.scan(text, (term, end) -> {
+                if (!found[term] && isWord(text, term, end)) {
+                    found[term] = true;
+                    numberFound[0]++;
+                }
+                return numberFound[0] < findable;
+            });
+            return numberFound[0];
+        }
 
-            index = text.indexOf(term, index + 1);
+        /**
+         * Checks if the occurrence of the term is not surrounded by other letters.
+         */
+        private boolean isWord(CharSequence text, int term, int end) {
+            int start = end - matcher.getKeyword(term).length();
+            boolean before = start == 0 || !Character.isLetter(text.charAt(start - 1));
+            boolean after = end == text.length() || !Character.isLetter(text.charAt(end));
+            return before && after;
         }
-        return counter;
     }
 
     /**
@@ -157,4 +265,14 @@ public abstract class Rule {
         return limits.length;
     }
 
+    /**
+     * Returns the highest number of points {@link #calculatePointsWithLimits(int[], int)} can give with these limits.
+     *
+     * @param limits Array of limits, as given to {@link #calculatePointsWithLimits(int[], int)}
+     * @return maximum points of a rule using these limits
+     */
+    protected int getMaxPointsWithLimits(int[] limits) {
+        return limits.length;
+    }
+
 }
@@ -9,7 +9,9 @@ import controller.rules.ReadReadmeLinks;
 import model.Repository;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Collection of rules from the {@link controller.rules} package.
@@ -21,11 +23,17 @@ public class RuleCollection {
      */
     private final List<RuleFactory> rules = new ArrayList<>();
 
+    /**
+     * Indices of {@link #rules} in an order, where every rule comes after the rules it has to run after.
+     */
+    private final List<Integer> executionOrder;
+
     /**
      * Creates a new RuleCollection. Adds the rules in the constructor to the list to be executed.
      */
     public RuleCollection() {
         setStandardRuleSet();
+        executionOrder = calculateExecutionOrder();
     }
 
 
@@ -63,11 +71,62 @@ public class RuleCollection {
         return rules.size();
     }
 
+    /**
+     * Getter for the order the rules can be started in. The order of {@link #getAllRules()} is the order of the
+     * columns in the result and may differ.
+     *
+     * @return indices of {@link #getAllRules()}, every rule after the rules it has to run after
+     */
+    public List<Integer> getExecutionOrder() {
+        return executionOrder;
+    }
+
+    /**
+     * Sorts the rules topologically by {@link RuleFactory#getRunAfter()}. Keeps the order of registration for
+     * independent rules.
+     *
+     * @return indices of the rules in execution order
+     * @throws IllegalArgumentException if a rule runs after an unknown rule or the rules depend on each other in a cycle
+     */
+    private List<Integer> calculateExecutionOrder() {
+        Map<String, Integer> indices = new LinkedHashMap<>();
+        for (int i = 0; i < rules.size(); i++) {
+            indices.put(rules.get(i).getName(), i);
+        }
+        for (RuleFactory rule : rules) {
+            for (String before : rule.getRunAfter()) {
+                if (!indices.containsKey(before)) {
+                    throw new IllegalArgumentException(rule.getName() + " can't run after the unknown rule " + before);
+                }
+            }
+        }
+
+        List<Integer> order = new ArrayList<>(rules.size());
+        boolean[] ordered = new boolean[rules.size()];
+        while (order.size() < rules.size()) {
+            boolean progress = false;
+            for (int i = 0; i < rules.size(); i++) {
+                if (!ordered[i] && rules.get(i).getRunAfter().stream().allMatch(before -> ordered[indices.get(before)])) {
+                    ordered[i] = true;
+                    order.add(i);
+                    progress = true;
+                }
+            }
+            if (!progress) {
+                throw new IllegalArgumentException("The rules can't run after each other in a cycle.");
+            }
+        }
+        return List.copyOf(order);
+    }
+
     private void setStandardRuleSet() {
+        // The expensive rules (LLM request and crawling the links) run after the cheap ones, so they can be skipped,
+        // if the repository can't reach the mandatory points anymore.
+        String[] cheapRules = {"KeyWord", "DocFolder", "SearchOwnerRepo"};
         rules.add(new RuleFactory("KeyWord", repository -> new KeyWord(repository,new int[]{0, 1, 5, 20, 50, 200})));
-        rules.add(new RuleFactory("LLMReadme", repository -> new LLMReadme(repository,5)));
+        rules.add(new RuleFactory("LLMReadme", repository -> new LLMReadme(repository,5), cheapRules));
         rules.add(new RuleFactory("DocFolder", repository -> new DocFolder(repository,new int[]{0, 0, 0, 1, 2, 5})));
-        rules.add(new RuleFactory("ReadReadmeLinks", repository -> new ReadReadmeLinks(repository,new int[]{0, 0, 1, 5, 5, 9, 9, 11, 11, 16})));
+        rules.add(new RuleFactory("ReadReadmeLinks", repository -> new ReadReadmeLinks(repository,new int[]{0, 0, 1, 5, 5, 9, 9, 11, 11, 16}), cheapRules));
         rules.add(new RuleFactory("SearchOwnerRepo", repository -> new SearchOwnerRepo(repository,new int[]{12, 18, 23})));
         rules.add(new RuleFactory("QualityMetric", repository -> new QualityMetric(repository,new int[]{0, 100, 5000, 10000, 25000, 100000})));
 
@@ -1,15 +1,38 @@
 package controller;
 
 import model.Repository;
+
+import java.util.List;
 import java.util.function.Function;
 
+/**
+ * Creates a rule for a repository. Also describes, how the rule can be scheduled with the other rules.
+ * Rules without {@link #getRunAfter()} can be executed concurrently to all other rules of the same type.
+ */
 public class RuleFactory {
     private final String name;
     private final Function<Repository, Rule> factory;
 
+    /**
+     * Names of the rules, which have to be finished before this rule starts.
+     */
+    private final List<String> runAfter;
+
     public RuleFactory(String name, Function<Repository, Rule> factory) {
+        this(name, factory, new String[0]);
+    }
+
+    /**
+     * Creates a factory for a rule, which has to wait for other rules.
+     *
+     * @param name of the rule
+     * @param factory creates the rule for a repository
+     * @param runAfter names of the rules, which have to be finished before this rule starts
+     */
+    public RuleFactory(String name, Function<Repository, Rule> factory, String... runAfter) {
         this.name = name;
         this.factory = factory;
+        this.runAfter = List.of(runAfter);
     }
 
     public Rule create(Repository repository) {
@@ -19,4 +42,13 @@ public class RuleFactory {
     public String getName() {
         return name;
     }
+
+    /**
+     * Getter for the rules, which have to be finished before this rule starts.
+     *
+     * @return names of the rules, empty if the rule is independent
+     */
+    public List<String> getRunAfter() {
+        return runAfter;
+    }
 }
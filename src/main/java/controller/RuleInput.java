@@ -0,0 +1,22 @@
+package controller;
+
+/**
+ * Represents the information of a repository a rule reads. A stored result of a rule is reused, as long as its input
+ * didn't change since the last run.
+ */
+public enum RuleInput {
+    /**
+     * The files of the repository. Changes with every push.
+     */
+    CONTENT,
+
+    /**
+     * The metadata of the repository, e.g., the stars.
+     */
+    METADATA,
+
+    /**
+     * The other repositories of the owner.
+     */
+    OWNER
+}
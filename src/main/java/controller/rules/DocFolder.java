@@ -25,6 +25,11 @@ public class DocFolder extends Rule {
         }
     }
 
+    @Override
+    public int getMaxPoints() {
+        return getMaxPointsWithLimits(limits);
+    }
+
     @Override
     public RepositoryAspectEval execute() {
 
@@ -6,20 +6,22 @@ import exceptions.CloneProhibitedException;
 import model.Repository;
 import model.RepositoryAspectEval;
 import util.CLIOutput;
-import util.JsonKeywords;
-import model.TextFile;
+import util.KeywordIndex;
+import util.KeywordMatcher;
 
-import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
  * This mandatory rule scans the textfiles for a given list of keywords.
  */
 public class KeyWord extends Rule {
 
-    private static final String[] KEYWORDS = JsonKeywords.getAllKeywords();
+    /**
+     * Finds all keywords of all groups in one pass over a file.
+     */
+    private static final KeywordMatcher KEYWORDS = KeywordIndex.getAll();
 
     // The limits determine how many keywords need to be found for a point.
     private static int[] limits;
@@ -31,57 +33,68 @@ public class KeyWord extends Rule {
         }
     }
 
+    @Override
+    public int getMaxPoints() {
+        return getMaxPointsWithLimits(limits);
+    }
+
     @Override
     public RepositoryAspectEval execute() {
 
-        List<TextFile> textFiles;
+        if (KEYWORDS.size() == 0) {
+            return new RepositoryAspectEval("No keywords found in the JSON file.");
+        }
+
+        // Number of found keywords by their group, each keyword is counted once per file.
+        AtomicIntegerArray groupCounts = new AtomicIntegerArray(KEYWORDS.getGroups().size());
+        AtomicInteger keywordCount = new AtomicInteger();
+        AtomicInteger fileCount = new AtomicInteger();
+
+        // Stops, the execution, if enough keywords are found.
+        AtomicBoolean stopProcessing = new AtomicBoolean(false);
+
+        // Look at the files of a batch parallel and count the keywords. The next batch is only fetched, if needed.
+        boolean allFiles;
         try {
-            textFiles = repository.getTextfiles();
+            allFiles = repository.forEachTextfileBatch(textFiles -> {
+                fileCount.addAndGet(textFiles.size());
+                textFiles.parallelStream()
+                        .forEach(textFile -> {
+                            if (stopProcessing.get() || textFile.getContent() == null || textFile.getContent().isEmpty()) {
+                                return;
+                            }
+                            int[] counts = KEYWORDS.countPerGroup(textFile.getContent());
+                            int count = 0;
+                            for (int group = 0; group < counts.length; group++) {
+                                groupCounts.addAndGet(group, counts[group]);
+                                count += counts[group];
+                            }
+                            if (keywordCount.addAndGet(count) > limits[limits.length -1]) {
+                                stopProcessing.set(true);
+                            }
+                        });
+                return !stopProcessing.get();
+            });
         } catch (CloneProhibitedException e) {
             return new RepositoryAspectEval(e.getMessage());
         }
 
-        if (textFiles == null || textFiles.isEmpty()) {
+        if (fileCount.get() == 0) {
             CLIOutput.ruleInfo(this.getClass().getSimpleName(), repository.getIdentifier(), "No files found");
             return new RepositoryAspectEval("No files found.");
         } else {
-            CLIOutput.found(String.valueOf(textFiles.size()), "textfiles in", repository.getIdentifier());
+            CLIOutput.found(fileCount + (allFiles ? "" : " (stopped early)"), "textfiles in", repository.getIdentifier());
         }
 
-
-        if (KEYWORDS.length == 0) {
-            return new RepositoryAspectEval("No keywords found in the JSON file.");
+        StringBuilder perGroup = new StringBuilder();
+        for (int group = 0; group < groupCounts.length(); group++) {
+            if (groupCounts.get(group) > 0) {
+                perGroup.append(perGroup.isEmpty() ? "" : ", ")
+                        .append(KEYWORDS.getGroups().get(group)).append(": ").append(groupCounts.get(group));
+            }
         }
-
-        AtomicInteger keywordCount = new AtomicInteger();
-
-        // Stops, the execution, if enough keywords are found.
-        AtomicBoolean stopProcessing = new AtomicBoolean(false);
-
-        // Look at the files parallel and count the keywords.
-        textFiles.parallelStream()
-                .forEach(textFile -> {
-                    int count = 0;
-                    if (textFile.getContent() == null || textFile.getContent().isEmpty()) {
-                        return;
-                    }
-                    for (String keyword : KEYWORDS) {
-                        if (stopProcessing.get()) {
-                            return;
-                        }
-                        if (keyword == null || keyword.isEmpty()) {
-                            continue;
-                        }
-                        // The following condition is taken from StackOverflow: https://stackoverflow.com/a/90780
-                        // This is necessary because the method "contains" is case-sensitive.
-                        if (Pattern.compile(Pattern.quote(keyword), Pattern.CASE_INSENSITIVE).matcher(textFile.getContent()).find()) {
-                            count++;
-                        }
-                    }
-                    if (keywordCount.addAndGet(count) > limits[limits.length -1]) {
-                        stopProcessing.set(true);
-                    }
-                });
+        CLIOutput.ruleInfo(this.getClass().getSimpleName(), repository.getIdentifier(),
+                "Found keywords " + (perGroup.isEmpty() ? "none" : perGroup));
         return new RepositoryAspectEval(calculatePointsWithLimits(limits, keywordCount.get()));
     }
 }
\ No newline at end of file
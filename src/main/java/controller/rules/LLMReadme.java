@@ -46,6 +46,11 @@ public class LLMReadme extends Rule {
         }
     }
 
+    @Override
+    public int getMaxPoints() {
+        return maxPoints;
+    }
+
     @Override
     public RepositoryAspectEval execute() {
 
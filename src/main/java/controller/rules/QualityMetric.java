@@ -1,6 +1,7 @@
 package controller.rules;
 
 import controller.Rule;
+import controller.RuleInput;
 import controller.RuleType;
 import model.Repository;
 import model.RepositoryAspectEval;
@@ -19,6 +20,16 @@ public class QualityMetric extends Rule {
         }
     }
 
+    @Override
+    public RuleInput getInput() {
+        return RuleInput.METADATA;
+    }
+
+    @Override
+    public int getMaxPoints() {
+        return getMaxPointsWithLimits(limits);
+    }
+
     @Override
     public RepositoryAspectEval execute() {
         int metric = repository.getQualityMetrics();
@@ -6,7 +6,7 @@ import exceptions.CloneProhibitedException;
 import model.Repository;
 import model.RepositoryAspectEval;
 import util.CLIOutput;
-import util.JsonKeywords;
+import util.KeywordIndex;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -37,7 +37,7 @@ public class ReadReadmeLinks extends Rule {
     /**
      * Keywords to search for in the website content. These keywords are more important ones.
      */
-    private static final List<String> MAIN_KEYWORDS = new ArrayList<>();
+    private static final TermScanner MAIN_KEYWORDS = new TermScanner(KeywordIndex.get("general-architecture", "UML"));
 
     /**
      * Keywords to search for in the website content. These keywords are less important ones.
@@ -63,16 +63,17 @@ public class ReadReadmeLinks extends Rule {
 
     public ReadReadmeLinks(Repository repository, int[] limits) {
         super(RuleType.MANDATORY, repository);
-        if (ReadReadmeLinks.MAIN_KEYWORDS.isEmpty()) {
-            MAIN_KEYWORDS.addAll(JsonKeywords.getSpecificKeywords("general-architecture"));
-            MAIN_KEYWORDS.addAll(JsonKeywords.getSpecificKeywords("UML"));
-        }
         addExcludedSites();
         if (ReadReadmeLinks.limits == null) {
             ReadReadmeLinks.limits = limits;
         }
     }
 
+    @Override
+    public int getMaxPoints() {
+        return getMaxPointsWithLimits(limits);
+    }
+
     @Override
     public RepositoryAspectEval execute() {
         String readme;
@@ -200,7 +201,7 @@ public class ReadReadmeLinks extends Rule {
         if (content.isEmpty()) {
             return 0;
         }
-        int score = 2 * countMultipleKeywordsSingleOccurrence(content, MAIN_KEYWORDS);
+        int score = 2 * MAIN_KEYWORDS.countFound(content);
         if (score > 0) {
             score += countMultipleKeywordsSingleOccurrence(content, SIDE_KEYWORDS);
 
@@ -1,10 +1,12 @@
 package controller.rules;
 
 import controller.Rule;
+import controller.RuleInput;
 import controller.RuleType;
 import model.Repository;
 import model.RepositoryAspectEval;
 
+import java.util.Arrays;
 import java.util.List;
 
 public class SearchOwnerRepo extends Rule {
@@ -21,6 +23,16 @@ public class SearchOwnerRepo extends Rule {
         }
     }
 
+    @Override
+    public RuleInput getInput() {
+        return RuleInput.OWNER;
+    }
+
+    @Override
+    public int getMaxPoints() {
+        return Arrays.stream(limits).max().orElse(0);
+    }
+
     @Override
     public RepositoryAspectEval execute() {
         String[] repoNames = repository.getOwnersRepos();
@@ -1,25 +1,40 @@
 package model;
 
-import java.util.HashSet;
-import java.util.LinkedHashSet;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Holds multiple {@link Repository}.
+ * Deduplicating queue, which is safe for concurrent producers and consumers. No method holds a lock, so producers
+ * and consumers never block each other. Only {@link #getNext(long, TimeUnit)} waits, if the queue is empty.
  */
 public class RepoList {
 
     /**
      * The instance of the {@link RepoList} for the Singleton pattern.
      */
-    private static RepoList instance;
+    private static volatile RepoList instance;
 
     /**
      * List of {@link Repository}.
      * Set up as a Queue.
      */
-    private final LinkedHashSet<Repository> unprocessedRepos = new LinkedHashSet<>();
-    private final Set<String> startedRepos = new HashSet<>();
+    private final Queue<Repository> unprocessedRepos = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Identifiers of all repositories, which were added to the queue. Includes the already started repositories.
+     */
+    private final Set<String> knownRepos = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Number of repositories in the queue. Consumers wait on it, if the queue is empty.
+     * A permit is released after a repository is queued, so a taken permit always has a repository in the queue.
+     */
+    private final Semaphore available = new Semaphore(0);
 
     /**
      * Private constructor for the Singleton pattern.
@@ -34,24 +49,44 @@ public class RepoList {
      * @return The instance of the {@link RepoList}.
      */
     public static RepoList getInstance() {
-        if (instance == null) {
-            instance = new RepoList();
+        RepoList result = instance;
+        if (result == null) {
+            synchronized (RepoList.class) {
+                result = instance;
+                if (result == null) {
+                    result = new RepoList();
+                    instance = result;
+                }
+            }
         }
-        return instance;
+        return result;
     }
 
     /**
      * Gets the next {@link Repository} from the list.
      *
-     * @return next unprocessed {@link Repository}
+     * @return next unprocessed {@link Repository}, null if the list is empty
+     */
+    public Repository getNext() {
+        if (!available.tryAcquire()) {
+            return null;
+        }
+        return unprocessedRepos.poll();
+    }
+
+    /**
+     * Gets the next {@link Repository} from the list. Waits, if the list is empty.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit of the timeout
+     * @return next unprocessed {@link Repository}, null if no repository was added in time
+     * @throws InterruptedException if interrupted while waiting
      */
-    public synchronized Repository getNext() {
-        if (unprocessedRepos.isEmpty()) {
+    public Repository getNext(long timeout, TimeUnit unit) throws InterruptedException {
+        if (!available.tryAcquire(timeout, unit)) {
             return null;
         }
-        Repository currentRepo = unprocessedRepos.removeFirst();
-        startedRepos.add(currentRepo.getIdentifier());
-        return currentRepo;
+        return unprocessedRepos.poll();
     }
 
     /**
@@ -60,7 +95,17 @@ public class RepoList {
      * @return unprocessed {@link Repository}
      */
     public int size() {
-        return unprocessedRepos.size();
+        return available.availablePermits();
+    }
+
+    /**
+     * Checks if a {@link Repository} was already added to the list.
+     *
+     * @param repo to check
+     * @return true, if the repo was added before, even if it is already processed
+     */
+    public boolean isKnown(Repository repo) {
+        return knownRepos.contains(repo.getIdentifier());
     }
 
     /**
@@ -71,7 +116,7 @@ public class RepoList {
     public boolean addMultipleRepos(Repository[] repos) {
         boolean everythingNew = true;
         for (Repository repo : repos) {
-            everythingNew = this.unprocessedRepos.add(repo);
+            everythingNew &= addSingleRepo(repo);
         }
         return everythingNew;
     }
@@ -82,9 +127,11 @@ public class RepoList {
      * @return true, if the repo is new and could be added
      */
     public boolean addSingleRepo(Repository repo) {
-        if (startedRepos.contains(repo.getIdentifier())) {
+        if (!knownRepos.add(repo.getIdentifier())) {
             return false;
         }
-        return unprocessedRepos.add(repo);
+        unprocessedRepos.offer(repo);
+        available.release();
+        return true;
     }
 }
@@ -10,11 +10,14 @@ import repository_information.RepoFunctions;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
+import static util.Globals.TEXT_FILE_BATCH_SIZE;
+
 /**
  * Implements the requests, the rules in {@link controller.rules} can ask.
  */
@@ -46,26 +49,60 @@ public class Repository implements RepoFunctions {
 
     private static final String[] ALLOWED_EXTENSIONS = {"txt", "md", "markdown", "rst", "adoc", "docx"};
 
+    /**
+     * Checks if the content of a file may be read by the rules: a text file, as in {@link #getTextfiles()}, or a
+     * readme, as in {@link #getReadme()}.
+     *
+     * @param path of the file
+     * @return true, if the content of the file may be read
+     */
+    public static boolean isReadableFile(String path) {
+        return Arrays.asList(ALLOWED_EXTENSIONS).contains(FilenameUtils.getExtension(path))
+                || path.toLowerCase().contains("readme");
+    }
+
     /**
      * Constructor for the Repository.
      * @param repositoryName name of the repository to uniquely identify it with the {@link #owner}
      * @param owner owner of the repository
      */
     public Repository(String repositoryName, String owner) {
+        this(repositoryName, owner, new RepoCache(repositoryName, owner));
+    }
+
+    /**
+     * Constructor for a repository with the given cache, e.g., a stub in tests.
+     * @param repositoryName name of the repository to uniquely identify it with the {@link #owner}
+     * @param owner owner of the repository
+     * @param cache all requests will be called on
+     */
+    Repository(String repositoryName, String owner, RepoCache cache) {
         this.repositoryName = repositoryName;
         this.owner = owner;
-        this.cache = new RepoCache(repositoryName, owner);
+        this.cache = cache;
         this.created = new Date();
         this.repoIdentifier = "repository: " + repositoryName + " of owner: " + owner;
     }
 
+    /**
+     * Constructor for a repository, whose general information is already known, e.g., from a search response.
+     * @param repositoryName name of the repository to uniquely identify it with the {@link #owner}
+     * @param owner owner of the repository
+     * @param generalInfo of the repository, as returned by {@link #generalInfo()}
+     */
+    public Repository(String repositoryName, String owner, JsonNode generalInfo) {
+        this(repositoryName, owner);
+        cache.preloadGeneralInfo(generalInfo);
+    }
+
     /**
      * Maps the rule to the points it has given.
+     * Concurrent, because independent rules save their results at the same time.
      */
-    private final HashMap<String, RepositoryAspectEval> results = new HashMap<>();
+    private final Map<String, RepositoryAspectEval> results = new ConcurrentHashMap<>();
 
     /**
-     * The overall points of the repository. Starting with 0.
+     * The overall points of the repository, set by {@link #finish()}. Starting with 0.
      */
     private int overallPoints = 0;
 
@@ -94,9 +131,43 @@ public class Repository implements RepoFunctions {
      * @throws CloneProhibitedException if this call lead to cloning of the repository, where cloning is prohibited.
      */
     public List<TextFile> getTextfiles() throws CloneProhibitedException {
+        List <TextFile> parsedTextFiles = new ArrayList<>();
+        forEachTextfileBatch(batch -> {
+            parsedTextFiles.addAll(batch);
+            return true;
+        });
+        return parsedTextFiles;
+    }
+
+    /**
+     * Passes the textfiles of the {@link Repository} to the visitor, batch by batch, as in {@link #getTextfiles()}.
+     * A batch is only fetched, when the visitor asked for more, so the visitor can stop without fetching or reading
+     * the remaining files. Batches have {@link util.Globals#TEXT_FILE_BATCH_SIZE} files.
+     *
+     * @param visitor receives the batches of textfiles, returns false to stop
+     * @return true, if all textfiles were passed to the visitor
+     * @throws CloneProhibitedException if this call lead to cloning of the repository, where cloning is prohibited.
+     */
+    public boolean forEachTextfileBatch(Predicate<List<TextFile>> visitor) throws CloneProhibitedException {
+        List<String> paths = getTextfilePaths();
+        for (int start = 0; start < paths.size(); start += TEXT_FILE_BATCH_SIZE) {
+            int end = Math.min(paths.size(), start + TEXT_FILE_BATCH_SIZE);
+            if (!visitor.test(cache.getTextFiles(paths.subList(start, end), paths.subList(end, paths.size())))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the paths of the textfiles. The textfiles are identified by their file extension.
+     *
+     * @return paths of the textfiles, based on the repository root
+     * @throws CloneProhibitedException if this call lead to cloning of the repository, where cloning is prohibited.
+     */
+    private List<String> getTextfilePaths() throws CloneProhibitedException {
         List <JsonNode> foundTextFiles = new ArrayList<>();
 
-        List <TextFile> parsedTextFiles = new ArrayList<>();
         JsonNode tree = getStructure();
         if (tree == null || !tree.isArray()) {
             return new ArrayList<>();
@@ -119,12 +190,7 @@ public class Repository implements RepoFunctions {
         for (JsonNode file: foundTextFiles) {
             paths.add(file.get("path").asText());
         }
-        Map<String, String> files = getFiles(paths);
-        for (Map.Entry<String, String> entry : files.entrySet()) {
-            parsedTextFiles.add(new TextFile(entry.getKey(), entry.getValue()));
-        }
-
-        return parsedTextFiles;
+        return paths;
     }
 
     @Override
@@ -147,6 +213,17 @@ public class Repository implements RepoFunctions {
         return cache.generalInfo();
     }
 
+    /**
+     * Sets the metadata of the repository, if it was requested together with other repositories.
+     * Saves the single requests of {@link #generalInfo()} and {@link #getOwnersRepos()}.
+     *
+     * @param generalInfo of the repository
+     * @param ownersRepos the names of the other repositories of the owner
+     */
+    public void preloadMetadata(JsonNode generalInfo, String[] ownersRepos) {
+        cache.preloadMetadata(generalInfo, ownersRepos);
+    }
+
     /**
      * Gets the quality metric of a repository. For example, GitHub stars.
      *
@@ -173,7 +250,7 @@ public class Repository implements RepoFunctions {
     @Override
     public void finish() {
         duration = (new Date().getTime() - created.getTime());
-        calculateOverallPoints();
+        overallPoints = calculateOverallPoints();
         cache.finish();
         cache = null;
     }
@@ -189,17 +266,18 @@ public class Repository implements RepoFunctions {
      * @return sum of all points given by the rules.
      */
     public int getOverallPoints() {
-        calculateOverallPoints();
-        return overallPoints;
+        // The rules of a repository are evaluated concurrently, so the sum isn't shared between the callers.
+        return calculateOverallPoints();
     }
 
-    private void calculateOverallPoints() {
-        overallPoints = 0;
+    private int calculateOverallPoints() {
+        int points = 0;
         for (RepositoryAspectEval rule : results.values()) {
             if (rule.isApplicable()) {
-                overallPoints += rule.getPoints();
+                points += rule.getPoints();
             }
         }
+        return points;
     }
 
     /**
@@ -207,7 +285,7 @@ public class Repository implements RepoFunctions {
      *
      * @return map of rules and their results.
      */
-    public HashMap<String, RepositoryAspectEval> getResults() {
+    public Map<String, RepositoryAspectEval> getResults() {
         return results;
     }
 
@@ -241,9 +319,11 @@ public class Repository implements RepoFunctions {
      * Returns the content of the readme file. If no readme file is found in the top level directory,
      * a readme file from a possible documentation folder is returned.
      *
+     * Synchronized, because multiple rules ask for the readme at the same time, but it should only be searched once.
+     *
      * @return readme file content or null, if no readme file is found.
      */
-    public String getReadme() throws CloneProhibitedException {
+    public synchronized String getReadme() throws CloneProhibitedException {
         if (readme != null) {
             return readme;
         }
@@ -28,4 +28,13 @@ public class TextFile extends File {
     public String getContent() {
         return content;
     }
+
+    /**
+     * Returns the memory used by the content, to bound the number of cached files.
+     *
+     * @return size of the content in bytes
+     */
+    public long getSize() {
+        return content == null ? 0 : 2L * content.length();
+    }
 }
@@ -6,11 +6,13 @@ import repository_information.GitHub.GithubCommunication;
 import repository_information.GitHub.GithubRateLimitCheck;
 import repository_information.GitHub.RateResource;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntSupplier;
 
+import static util.Globals.GRAPHQL_BLOB_BATCH_SIZE;
 import static util.Globals.MAX_NUMBER_OF_FILES;
+import static util.Globals.MAX_TARBALL_SIZE;
 
 public class APIProxy {
 
@@ -22,6 +24,12 @@ public class APIProxy {
     final String repositoryName;
     final String owner;
 
+    /**
+     * True, if the archive of the repository was downloaded. The upcoming files are read from the same archive, so
+     * it is only needed again, if they were removed from the cache. The repository is cloned instead then.
+     */
+    private boolean archiveDownloaded = false;
+
     final GitMandatories gitAPI = GithubCommunication.getInstance();
     final RateLimitMandatories rateLimitMandatories = GithubRateLimitCheck.getInstance();
 
@@ -38,19 +46,46 @@ public class APIProxy {
 
     }
 
-    public Map<String, String> getFiles(List<String> paths) throws APIOverloaded {
-        if (checkForClone()) {
-            throw new APIOverloaded();
+    /**
+     * Gets the files with the strategy, that fits the number of files and the remaining rate limits.
+     *
+     * @param paths of the files
+     * @param upcoming paths of files, which will likely be requested next, see
+     *                 {@link GitMandatories#getFiles(List, List, String, String, FileFetchStrategy)}
+     * @param repoSize size of the repository in KB, only requested if the archive might be downloaded
+     * @return the path as key mapped to the content of the file, may contain upcoming files
+     * @throws APIOverloaded if no strategy is possible, so the repository has to be cloned
+     */
+    public Map<String, String> getFiles(List<String> paths, List<String> upcoming, IntSupplier repoSize)
+            throws APIOverloaded {
+        FileFetchStrategy strategy = chooseStrategy(paths.size(), repoSize);
+        return gitAPI.getFiles(paths, upcoming, owner, repositoryName, strategy);
+    }
+
+    /**
+     * Chooses how to request the files. A few files are requested one by one. More files are requested in batches
+     * with the GraphQL API, or, if its rate limit isn't sufficient, from the archive of the repository.
+     *
+     * @param numberOfFiles to request
+     * @param repoSize size of the repository in KB
+     * @return the strategy to use
+     * @throws APIOverloaded if no strategy is possible
+     */
+    private FileFetchStrategy chooseStrategy(int numberOfFiles, IntSupplier repoSize) throws APIOverloaded {
+        if (numberOfFiles <= MAX_NUMBER_OF_FILES && checkRateLimit(RateResource.CORE, false)) {
+            return FileFetchStrategy.CONTENTS;
         }
-        if (paths.size() > MAX_NUMBER_OF_FILES) {
-            throw new APIOverloaded("too many files requested: " + paths.size());
+        int batches = (numberOfFiles + GRAPHQL_BLOB_BATCH_SIZE - 1) / GRAPHQL_BLOB_BATCH_SIZE;
+        if (rateLimitMandatories.checkHardRateLimit(RateResource.GRAPHQL)
+                && rateLimitMandatories.getRequestsLeft(RateResource.GRAPHQL) >= batches) {
+            return FileFetchStrategy.GRAPHQL_BLOBS;
         }
-        Map<String, String> results = new HashMap<>();
-
-        for (String path : paths) {
-            results.put(path, getSingleFile(path));
+        int size = repoSize.getAsInt();
+        if (!archiveDownloaded && size >= 0 && size <= MAX_TARBALL_SIZE && checkRateLimit(RateResource.CORE, true)) {
+            archiveDownloaded = true;
+            return FileFetchStrategy.TARBALL;
         }
-        return results;
+        throw new APIOverloaded("too many files requested: " + numberOfFiles);
     }
 
 
@@ -63,10 +98,6 @@ public class APIProxy {
         }
     }
 
-    private String getSingleFile(String path) {
-        return gitAPI.getFile(path, owner, repositoryName);
-    }
-
 
     /**
      * Checks the rate limit if the call is connected to a specific resource.
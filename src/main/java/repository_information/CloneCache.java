@@ -0,0 +1,232 @@
+package repository_information;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.jgit.util.FileUtils;
+import repository_information.GitHub.GithubCommunication;
+import util.CLIOutput;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static util.Globals.CLONE_CACHE_PATH;
+import static util.Globals.MAX_CLONE_CACHE_SIZE;
+
+/**
+ * Keeps bare clones of repositories across runs. A cached clone is updated with an incremental fetch, instead of
+ * cloning the repository again, and not at all, if the repository wasn't pushed since. The cache is bounded by
+ * {@link util.Globals#MAX_CLONE_CACHE_SIZE}, the least recently used clones are deleted first.
+ * An index file records the time of the last push, the size and the last use of each clone.
+ */
+public final class CloneCache {
+
+    private static final String INDEX_FILE = "index.json";
+
+    /**
+     * Entry of the index. Unknown properties are ignored, so the index of an older version is still read.
+     *
+     * @param pushedAt the time of the last push to the repository, as given by the general information, when the
+     *                 clone was last updated. Null if unknown
+     * @param size of the clone in bytes
+     * @param lastUsed time of the last use in milliseconds since the epoch
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Entry(String pushedAt, long size, long lastUsed) {
+    }
+
+    private static volatile CloneCache instance;
+
+    private final Path cachePath;
+
+    /**
+     * Maximal size of all clones in bytes.
+     */
+    private final long maxSize;
+
+    private final GitMandatories gitAPI;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Maps owner/repository to its entry. Guarded by this.
+     */
+    private final Map<String, Entry> index;
+
+    /**
+     * The clones, which are currently read and must not be evicted. Guarded by this.
+     */
+    private final Set<String> inUse = new HashSet<>();
+
+    CloneCache(Path cachePath, long maxSize, GitMandatories gitAPI) {
+        this.cachePath = cachePath;
+        this.maxSize = maxSize;
+        this.gitAPI = gitAPI;
+        this.index = loadIndex();
+    }
+
+    /**
+     * Singleton instance.
+     *
+     * @return the instance
+     */
+    public static CloneCache getInstance() {
+        if (instance == null) {
+            synchronized (CloneCache.class) {
+                if (instance == null) {
+                    instance = new CloneCache(CLONE_CACHE_PATH, MAX_CLONE_CACHE_SIZE * 1024L, GithubCommunication.getInstance());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Gets a bare clone of the newest commit of the default branch. A cached clone is updated, if the repository was
+     * pushed since its last update, otherwise the repository is cloned. The clone isn't evicted, till it is released
+     * with {@link #release(String, String)}.
+     *
+     * @param owner of the repository
+     * @param repositoryName of the repository
+     * @param defaultBranch of the repository, null if unknown
+     * @param pushedAt the time of the last push to the repository, null if unknown
+     * @return the path of the clone, null if the repository couldn't be cloned
+     */
+    public Path getClone(String owner, String repositoryName, String defaultBranch, String pushedAt) {
+        String key = getKey(owner, repositoryName);
+        Path path = cachePath.resolve(owner).resolve(repositoryName + ".git");
+
+        boolean cached;
+        boolean upToDate;
+        synchronized (this) {
+            inUse.add(key);
+            Entry entry = index.get(key);
+            cached = entry != null && Files.exists(path);
+            upToDate = cached && pushedAt != null && pushedAt.equals(entry.pushedAt());
+        }
+
+        boolean ready = upToDate || cached && gitAPI.updateClone(owner, repositoryName, path);
+        if (upToDate) {
+            CLIOutput.info("Cached clone of " + key + " is up to date.");
+        } else if (cached && ready) {
+            CLIOutput.info("Updated cached clone of: " + key);
+        } else {
+            deleteFolder(path);
+            ready = gitAPI.cloneRepo(owner, repositoryName, path, CloneMode.BARE, defaultBranch, file -> false);
+        }
+
+        synchronized (this) {
+            if (ready) {
+                index.put(key, new Entry(pushedAt, getFolderSize(path), System.currentTimeMillis()));
+            } else {
+                inUse.remove(key);
+                index.remove(key);
+            }
+            evict();
+            saveIndex();
+        }
+        return ready ? path : null;
+    }
+
+    /**
+     * Allows the eviction of the clone again, after it isn't read anymore.
+     *
+     * @param owner of the repository
+     * @param repositoryName of the repository
+     */
+    public synchronized void release(String owner, String repositoryName) {
+        inUse.remove(getKey(owner, repositoryName));
+        evict();
+        saveIndex();
+    }
+
+    /**
+     * Deletes the least recently used clones, till the cache fits into its maximal size. Clones in use are kept.
+     */
+    private void evict() {
+        long size = index.values().stream().mapToLong(Entry::size).sum();
+        if (size <= maxSize) {
+            return;
+        }
+        List<Map.Entry<String, Entry>> byLastUse = new ArrayList<>(index.entrySet());
+        byLastUse.sort(Comparator.comparingLong(entry -> entry.getValue().lastUsed()));
+
+        for (Map.Entry<String, Entry> entry : byLastUse) {
+            if (size <= maxSize) {
+                break;
+            }
+            if (inUse.contains(entry.getKey())) {
+                continue;
+            }
+            String[] ownerAndName = entry.getKey().split("/", 2);
+            deleteFolder(cachePath.resolve(ownerAndName[0]).resolve(ownerAndName[1] + ".git"));
+            index.remove(entry.getKey());
+            size -= entry.getValue().size();
+        }
+    }
+
+    private Map<String, Entry> loadIndex() {
+        File indexFile = cachePath.resolve(INDEX_FILE).toFile();
+        if (!indexFile.exists()) {
+            return new HashMap<>();
+        }
+        try {
+            return new HashMap<>(objectMapper.readValue(indexFile, new TypeReference<Map<String, Entry>>() {}));
+        } catch (IOException e) {
+            CLIOutput.warning("Couldn't read the index of the clone cache, starting with an empty cache.");
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * Writes the index to a temporary file first, so an interrupted run doesn't leave a broken index.
+     */
+    private void saveIndex() {
+        try {
+            Files.createDirectories(cachePath);
+            Path temporary = cachePath.resolve(INDEX_FILE + ".tmp");
+            objectMapper.writeValue(temporary.toFile(), index);
+            Files.move(temporary, cachePath.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            CLIOutput.warning("Couldn't write the index of the clone cache: " + e.getMessage());
+        }
+    }
+
+    private static String getKey(String owner, String repositoryName) {
+        return owner + "/" + repositoryName;
+    }
+
+    private static long getFolderSize(Path folder) {
+        try (Stream<Path> files = Files.walk(folder)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> {
+                try {
+                    return Files.size(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).sum();
+        } catch (IOException | UncheckedIOException e) {
+            return 0;
+        }
+    }
+
+    private static void deleteFolder(Path folder) {
+        try {
+            FileUtils.delete(folder.toFile(), FileUtils.RECURSIVE | FileUtils.SKIP_MISSING);
+        } catch (IOException e) {
+            // The clone is overwritten or deleted with the next eviction.
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package repository_information;
+
+/**
+ * How much of a repository is cloned, see {@link util.Globals#CLONE_MODE}.
+ */
+public enum CloneMode {
+
+    /**
+     * The whole history of all branches, with all files checked out.
+     */
+    FULL,
+
+    /**
+     * Only the last commit of the default branch. Only the files, which are read by the rules, are checked out.
+     * The structure is read from the git tree, so it still contains all files.
+     */
+    SHALLOW,
+
+    /**
+     * Only the last commit of the default branch, without a working tree. The structure and the files are read from
+     * the git objects, so no file of the repository is written.
+     */
+    BARE
+}
@@ -6,10 +6,9 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import exceptions.APIOverloaded;
 import exceptions.CloneProhibitedException;
+import model.Repository;
 import org.eclipse.jgit.util.FileUtils;
 import repository_information.GitHub.GithubCommunication;
-import repository_information.GitHub.GithubRateLimitCheck;
-import repository_information.GitHub.RateResource;
 import util.CLIOutput;
 
 import java.io.File;
@@ -22,8 +21,10 @@ import java.util.List;
 import java.util.Map;
 
 import static util.Globals.CLONED_REPOS_PATH;
+import static util.Globals.CLONE_MODE;
 import static util.Globals.CLONE_THRESHOLD;
 import static util.Globals.MAX_CLONE_SIZE;
+import static util.Globals.MAX_SHALLOW_CLONE_SIZE;
 
 public class CloneProxy implements RepoFunctions{
 
@@ -33,10 +34,12 @@ public class CloneProxy implements RepoFunctions{
         this.repositoryName = repositoryName;
         this.owner = owner;
         repoPath = CLONED_REPOS_PATH.resolve(owner).resolve(repositoryName);
+        clonePath = repoPath;
     }
 
     /**
-     * If the repository is too large to clone. The limit is set in {@link util.Globals#MAX_CLONE_SIZE}.
+     * If the repository is too large to clone. The limit is set in {@link util.Globals#MAX_CLONE_SIZE}, or
+     * {@link util.Globals#MAX_SHALLOW_CLONE_SIZE} for shallow and bare clones.
      */
     boolean cloneProhibited = false;
 
@@ -47,12 +50,32 @@ public class CloneProxy implements RepoFunctions{
 
     final String repositoryName;
     final String owner;
-    final RateLimitMandatories rateLimitMandatories = GithubRateLimitCheck.getInstance();
     final GitMandatories gitAPI = GithubCommunication.getInstance();
 
     final Path repoPath;
 
-    private int generalInfoSize = -1;
+    /**
+     * The path the repository is cloned to. Differs from {@link #repoPath}, if the clone is kept in the
+     * {@link CloneCache}.
+     */
+    private volatile Path clonePath;
+
+    /**
+     * Size of the repository in KB. Volatile, because the general information and the content of a repository are
+     * requested from different threads.
+     */
+    private volatile int generalInfoSize = -1;
+
+    /**
+     * Default branch of the repository, null if unknown. Only this branch is cloned with {@link CloneMode#SHALLOW}
+     * and {@link CloneMode#BARE}.
+     */
+    private volatile String defaultBranch;
+
+    /**
+     * Time of the last push to the repository, null if unknown. A cached clone is only updated, if it changed.
+     */
+    private volatile String pushedAt;
 
 
 
@@ -67,7 +90,11 @@ public class CloneProxy implements RepoFunctions{
                 changeToClone();
             }
         }
-        if (structure == null) {
+        if (structure == null && CLONE_MODE != CloneMode.FULL) {
+            // Not all files are checked out, the structure has to be read from git.
+            changeToClone("couldn't get structure");
+            structure = LocalClone.getStructure(clonePath);
+        } else if (structure == null) {
             changeToClone("couldn't get structure");
             ObjectMapper mapper = new ObjectMapper();
             ObjectNode node = mapper.createObjectNode();
@@ -90,14 +117,33 @@ public class CloneProxy implements RepoFunctions{
 
     @Override
     public Map<String, String> getFiles(List<String> paths) throws CloneProhibitedException {
+        return getFiles(paths, List.of());
+    }
+
+    /**
+     * Gets the files, and the upcoming files, if they are transferred together anyway.
+     *
+     * @param paths of the files
+     * @param upcoming paths of files, which will likely be requested next
+     * @return the path as key mapped to the content of the file, may contain upcoming files
+     * @throws CloneProhibitedException if the files have to be read from a clone, but cloning is prohibited
+     */
+    public Map<String, String> getFiles(List<String> paths, List<String> upcoming) throws CloneProhibitedException {
         if (!isCloned) {
             try {
-                return apiProxy.getFiles(paths);
+                return apiProxy.getFiles(paths, upcoming, this::getRepoSize);
             } catch (APIOverloaded e) {
                 changeToClone();
             }
         }
         Map<String, String> results = new HashMap<>();
+        if (CLONE_MODE == CloneMode.BARE) {
+            results.putAll(LocalClone.readFiles(clonePath, paths));
+            for (String path : paths) {
+                results.putIfAbsent(path, "");
+            }
+            return results;
+        }
 
         for (String path : paths) {
             results.put(path, getSingleFile(path));
@@ -109,10 +155,22 @@ public class CloneProxy implements RepoFunctions{
     @Override
     public JsonNode generalInfo() {
         JsonNode generalInfo = apiProxy.generalInfo();
-        generalInfoSize = generalInfo.get("size").asInt();
+        setGeneralInfo(generalInfo);
         return generalInfo;
     }
 
+    /**
+     * Uses general information, that was requested elsewhere, e.g., for several repositories at once.
+     *
+     * @param generalInfo of the repository, containing the size
+     */
+    void setGeneralInfo(JsonNode generalInfo) {
+        generalInfoSize = generalInfo.path("size").asInt(-1);
+        defaultBranch = generalInfo.path("default_branch").asText(null);
+        JsonNode pushed = generalInfo.path("pushed_at");
+        pushedAt = pushed.isTextual() ? pushed.asText() : null;
+    }
+
     private String getSingleFile(String path) {
         Path filePath = repoPath.resolve(path);
         try {
@@ -167,6 +225,10 @@ public class CloneProxy implements RepoFunctions{
     @Override
     public void finish() {
         apiProxy = null;
+        if (!clonePath.equals(repoPath)) {
+            // The clone is kept for the next run.
+            CloneCache.getInstance().release(owner, repositoryName);
+        }
         deleteFolder(new File(String.valueOf(repoPath)));
     }
 
@@ -183,48 +245,27 @@ public class CloneProxy implements RepoFunctions{
         }
     }
 
-    /**
-     * Checks the rate limit if the call is connected to a specific resource.
-     *
-     * @param resource the resource to check the rate limit for.
-     * @param critical if the request has a higher priority to be sent per API.
-     * @return if the request can be made per API.
-     */
-    private boolean checkRateLimit(RateResource resource, boolean critical) {
-        if (rateLimitMandatories.checkMildRateLimit(resource)) {
-            return true;
-        } else if (critical) {
-            return rateLimitMandatories.checkHardRateLimit(resource);
-        }
-        return false;
-    }
-
     private boolean cloneRepo() throws CloneProhibitedException {
-
-        // Wait if the rate limit is reached.
-        if (!checkRateLimit(RateResource.CORE, false)) {
-            while (!checkRateLimit(RateResource.CORE, true)) {
-                try {
-                    Thread.sleep(rateLimitMandatories.getTimeTillReset(RateResource.GRAPHQL));
-                } catch (InterruptedException e) {
-                    //Do nothing, wait for the next loop.
-                }
-            }
-        }
-
-
         if (cloneProhibited) {
             CLIOutput.cannotClone(repositoryName, owner, null);
             throw new CloneProhibitedException();
         } else if(getRepoSize() < 0) {
             CLIOutput.cannotClone(repositoryName, owner, "unknown size");
             throw new CloneProhibitedException();
-        } else if (getRepoSize() > MAX_CLONE_SIZE) {
+        } else if (getRepoSize() > (CLONE_MODE == CloneMode.FULL ? MAX_CLONE_SIZE : MAX_SHALLOW_CLONE_SIZE)) {
             cloneProhibited = true;
             CLIOutput.cannotClone(repositoryName, owner, "large size");
             throw new CloneProhibitedException();
         }
-        isCloned = gitAPI.cloneRepo(owner, repositoryName, repoPath);
+        if (CLONE_MODE == CloneMode.BARE) {
+            Path cachedClone = CloneCache.getInstance().getClone(owner, repositoryName, defaultBranch, pushedAt);
+            isCloned = cachedClone != null;
+            if (isCloned) {
+                clonePath = cachedClone;
+            }
+            return isCloned;
+        }
+        isCloned = gitAPI.cloneRepo(owner, repositoryName, repoPath, CLONE_MODE, defaultBranch, Repository::isReadableFile);
         return isCloned;
     }
 
@@ -0,0 +1,25 @@
+package repository_information;
+
+/**
+ * The ways to request several files of a repository from the API. The {@link APIProxy} chooses one for each request,
+ * based on the number of files and the remaining rate limits.
+ */
+public enum FileFetchStrategy {
+
+    /**
+     * One request per file. Best for a few files, uses one request of the core rate limit per file.
+     */
+    CONTENTS,
+
+    /**
+     * The files are requested as blobs in batches of {@link util.Globals#GRAPHQL_BLOB_BATCH_SIZE} with the GraphQL API.
+     * Uses the GraphQL rate limit instead of the core rate limit.
+     */
+    GRAPHQL_BLOBS,
+
+    /**
+     * The archive of the repository is downloaded and the files are read from it.
+     * Uses a single request, independent of the number of files, but downloads the whole repository.
+     */
+    TARBALL
+}
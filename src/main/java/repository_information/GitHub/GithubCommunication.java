@@ -4,16 +4,20 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import model.Repository;
-import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.transport.CredentialsProvider;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
 import org.eclipse.jgit.dircache.InvalidPathException;
+import repository_information.CloneMode;
+import repository_information.FileFetchStrategy;
 import repository_information.GitMandatories;
-import repository_information.RateLimitMandatories;
+import repository_information.LocalClone;
 import util.CLIOutput;
 import util.JsonUtil;
+import util.TarReader;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
@@ -21,22 +25,36 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Base64;
-import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Predicate;
 
 import static util.Globals.DEFAULT_NUMBER_OF_STAR;
+import static util.Globals.FILE_REQUEST_TIMEOUT;
+import static util.Globals.GRAPHQL_BLOB_BATCH_SIZE;
+import static util.Globals.HTTP_CACHE_PATH;
+import static util.Globals.HTTP_CACHE_TIME_TO_LIVE;
+import static util.Globals.MAX_HTTP_CACHE_SIZE;
+import static util.Globals.MAX_REQUESTS_PER_HOST;
 
 public final class GithubCommunication implements GitMandatories {
 
     /**
-     * The access token for the GitHub API. It is stored in the environment variables.
-     * When set manually, it will be used instead.
+     * The access tokens for the GitHub API. They are stored comma separated in the environment variable GitHub_API.
+     * The requests are distributed to the tokens by the {@link GithubRateLimitCheck}. Empty, if no token is set.
      */
-    private static String ACCESS_TOKEN;
+    private static List<String> ACCESS_TOKENS;
 
 
     /**
@@ -46,9 +64,38 @@ public final class GithubCommunication implements GitMandatories {
 
     private GithubCommunication() {
 
-        if (ACCESS_TOKEN == null) {
-            ACCESS_TOKEN = System.getenv("GitHub_API");
+        if (ACCESS_TOKENS == null) {
+            ACCESS_TOKENS = parseTokens(System.getenv("GitHub_API"));
         }
+        rateLimitCheck.setNumberOfTokens(ACCESS_TOKENS.size());
+    }
+
+    /**
+     * Splits the comma separated access tokens.
+     *
+     * @param tokens comma separated, may be null
+     * @return the tokens, empty if none is given
+     */
+    static List<String> parseTokens(String tokens) {
+        List<String> parsed = new ArrayList<>();
+        if (tokens != null) {
+            for (String token : tokens.split(",")) {
+                if (!token.isBlank()) {
+                    parsed.add(token.strip());
+                }
+            }
+        }
+        return List.copyOf(parsed);
+    }
+
+    /**
+     * Gets an access token.
+     *
+     * @param token index of the token, as given by the {@link GithubRateLimitCheck}
+     * @return the token, null if no token is set
+     */
+    private static String getAccessToken(int token) {
+        return ACCESS_TOKENS.isEmpty() ? null : ACCESS_TOKENS.get(token);
     }
 
     /**
@@ -73,7 +120,7 @@ public final class GithubCommunication implements GitMandatories {
     private static final String GITHUB_REST_URL = "https://api.github.com";
 
 
-    private static final RateLimitMandatories rateLimitCheck = GithubRateLimitCheck.getInstance();
+    private static final GithubRateLimitCheck rateLimitCheck = GithubRateLimitCheck.getInstance();
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -83,6 +130,22 @@ public final class GithubCommunication implements GitMandatories {
 
     HttpClient client = HttpClient.newHttpClient();
 
+    /**
+     * Client for the archives of repositories. The API redirects the download of an archive to another host.
+     */
+    private final HttpClient archiveClient = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL).build();
+
+    /**
+     * Limits the concurrent asynchronous requests per host to {@link util.Globals#MAX_REQUESTS_PER_HOST}.
+     */
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    /**
+     * Responses of the REST API from this and earlier runs, revalidated with conditional requests.
+     */
+    private final ResponseCache responseCache = new ResponseCache(HTTP_CACHE_PATH, MAX_HTTP_CACHE_SIZE * 1024L,
+            Duration.ofHours(HTTP_CACHE_TIME_TO_LIVE));
+
 
     /**
      * Gets 10 random repositories from the GitHub API.
@@ -115,7 +178,7 @@ public final class GithubCommunication implements GitMandatories {
         String apiUrl = GITHUB_REST_URL + "/search/repositories?q=" + searchTerm + "+stars" + encode(":>") + numberOfStars + "&per_page=10" + "&page=" + page;
 
         try {
-            responseBody = sendGetRequest(URI.create(apiUrl));
+            responseBody = sendGetRequest(URI.create(apiUrl), false, true);
         } catch (IOException | InterruptedException e) {
             return null;
         }
@@ -132,6 +195,42 @@ public final class GithubCommunication implements GitMandatories {
 
     }
 
+    /**
+     * Gets the next page of a paged repository search and moves the cursor forward.
+     * Requests up to {@link util.Globals#SEARCH_PAGE_SIZE} repositories per request, instead of the ten of
+     * {@link #getTenRepository(String, int)}.
+     *
+     * @param cursor position of the search
+     * @return List of repositories, empty if the page had no results, null if the request couldn't be answered
+     * @throws JsonProcessingException if the response couldn't be parsed
+     */
+    public List<Repository> getRepositoryPage(SearchCursor cursor) throws JsonProcessingException {
+        if (cursor.isFinished()) {
+            return new ArrayList<>();
+        }
+        if (!rateLimitCheck.checkHardRateLimit(RateResource.SEARCH)) {
+            CLIOutput.info("Couldn't get new repositories. Rate limit reached.");
+            return null;
+        }
+
+        String apiUrl = GITHUB_REST_URL + "/search/repositories?q=" + cursor.getQuery()
+                + "&per_page=" + cursor.getPageSize() + "&page=" + cursor.getPage();
+        String responseBody;
+        try {
+            responseBody = sendGetRequest(URI.create(apiUrl), false, true);
+        } catch (IOException | InterruptedException e) {
+            return null;
+        }
+        if (responseBody == null) {
+            return null;
+        }
+        JsonNode rootNode = objectMapper.readTree(responseBody);
+
+        List<Repository> repositories = JsonUtil.parseRestRepositories(rootNode);
+        cursor.advance(rootNode.get("total_count").asInt(), repositories.size());
+        return repositories;
+    }
+
     private String createRandomSearchString() {
         Random random = new Random();
         String randomSearchString = String.valueOf((char) (Math.random() * 26 + 'a'));
@@ -187,56 +286,186 @@ public final class GithubCommunication implements GitMandatories {
     }
 
     private String sendGetRequest(URI apiUrl) throws IOException, InterruptedException {
-        return sendGetRequest(apiUrl, false);
+        return sendGetRequest(apiUrl, false, false);
     }
 
 
         /**
-         * Send a GET request to the GitHub API.
+         * Send a GET request to the GitHub API. Waits for the permit of the rate limit first.
          * Updates the rate limit tracker.
          *
          * @param apiUrl to send the request to
+         * @param suppressMessages if an error shouldn't be printed
+         * @param critical if the request has no alternative, e.g., a clone, and may use the reserved rate limit
          * @return the response
          * @throws IOException if the request couldn't be sent
          */
-    private String sendGetRequest(URI apiUrl, boolean suppressMessages) throws IOException, InterruptedException {
+    private String sendGetRequest(URI apiUrl, boolean suppressMessages, boolean critical) throws IOException, InterruptedException {
 
-            HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
-                    .uri(apiUrl)
-                    .header("Accept", "application/vnd.github+json")
-                    .header("User-Agent", "Java-HttpClient");
+            RateResource resource = getRateResource(apiUrl);
+            int token = resource == null ? 0 : rateLimitCheck.acquireToken(resource, critical);
+            ResponseCache.Entry cached = getCachedResponse(apiUrl);
+            HttpRequest request = createGetRequest(apiUrl, cached, token).build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
 
-            if (ACCESS_TOKEN != null) {
-                //connection.setRequestProperty("Authorization", "Bearer " + ACCESS_TOKEN);
-                requestBuilder.header("Authorization", "Bearer " + ACCESS_TOKEN);
-            }
+            return handleResponse(apiUrl, response, cached, suppressMessages, token);
 
-            HttpRequest request = requestBuilder.build();
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
 
-            if (response.statusCode() != 200) {
-                if (!suppressMessages) {
-                    System.err.println("Error while getting GitHub response. Code: " + response.statusCode() + " (" + apiUrl + ")");
-                }
-                return null;
-            }
+    /**
+     * Send a GET request to the GitHub API without blocking. At most {@link util.Globals#MAX_REQUESTS_PER_HOST}
+     * requests are sent to a host at the same time, further calls block till a request is finished.
+     * The request is sent, when the rate limit permits it.
+     * Updates the rate limit tracker.
+     *
+     * @param apiUrl to send the request to
+     * @return the response, completed with null if the status isn't OK, or exceptionally if the request failed
+     */
+    private CompletableFuture<String> sendAsyncGetRequest(URI apiUrl) {
+        Semaphore permits = hostPermits.computeIfAbsent(apiUrl.getHost(), host -> new Semaphore(MAX_REQUESTS_PER_HOST));
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
 
-            // Set the Rate Limit tracker.
-            Optional<String> rateResource = response.headers().firstValue("x-ratelimit-resource");
-            Optional<String> rateLimit = response.headers().firstValue("x-ratelimit-limit");
-            Optional<String> rateRemaining = response.headers().firstValue("x-ratelimit-remaining");
-            Optional<String> rateReset = response.headers().firstValue("x-ratelimit-reset");
-
-            if (rateResource.isPresent() && rateLimit.isPresent() && rateRemaining.isPresent() && rateReset.isPresent()) {
-                rateLimitCheck.setRateLimit(
-                        RateResource.valueOf(rateResource.get().toUpperCase()),
-                        Integer.parseInt(rateLimit.get()),
-                        Integer.parseInt(rateRemaining.get()),
-                        new Date(Long.parseLong(rateReset.get()) * 1000L)  // Convert reset time to milliseconds
-                );
+        RateResource resource = getRateResource(apiUrl);
+        CompletableFuture<Integer> permit = resource == null
+                ? CompletableFuture.completedFuture(0)
+                : rateLimitCheck.acquireTokenAsync(resource, false);
+        ResponseCache.Entry cached = getCachedResponse(apiUrl);
+        return permit
+                .thenCompose(token -> {
+                    HttpRequest request = createGetRequest(apiUrl, cached, token)
+                            .timeout(Duration.ofSeconds(FILE_REQUEST_TIMEOUT)).build();
+                    return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                            .thenApply(response -> handleResponse(apiUrl, response, cached, false, token));
+                })
+                .whenComplete((body, e) -> permits.release());
+    }
+
+    /**
+     * Gets the body of a response. A response of the REST API is cached, and answered from the cache, if the API
+     * reports that it isn't modified.
+     * Updates the rate limit tracker.
+     *
+     * @param apiUrl the request was sent to
+     * @param response of the request
+     * @param cached the cached response, the request was conditional on. Null for an unconditional request.
+     * @param suppressMessages if an error shouldn't be printed
+     * @param token index of the access token, the request was sent with
+     * @return the body, null if the status isn't OK
+     */
+    private String handleResponse(URI apiUrl, HttpResponse<String> response, ResponseCache.Entry cached,
+                                  boolean suppressMessages, int token) {
+        if (response.statusCode() == 304 && cached != null) {
+            updateRateLimit(response, token);
+            responseCache.validated(apiUrl);
+            return cached.body();
+        }
+        if (response.statusCode() != 200) {
+            if (!suppressMessages) {
+                System.err.println("Error while getting GitHub response. Code: " + response.statusCode() + " (" + apiUrl + ")");
             }
-           return response.body();
+            return null;
+        }
 
+        updateRateLimit(response, token);
+        if (isCacheable(apiUrl)) {
+            responseCache.put(apiUrl, response.headers().firstValue("etag").orElse(null),
+                    response.headers().firstValue("last-modified").orElse(null), response.body());
+        }
+        return response.body();
+    }
+
+    /**
+     * Gets the cached response of a request to the REST API.
+     *
+     * @param apiUrl of the request
+     * @return the response, null if it isn't cached
+     */
+    private ResponseCache.Entry getCachedResponse(URI apiUrl) {
+        return isCacheable(apiUrl) ? responseCache.get(apiUrl) : null;
+    }
+
+    private boolean isCacheable(URI apiUrl) {
+        return apiUrl.toString().startsWith(GITHUB_REST_URL);
+    }
+
+    /**
+     * Gets the rate limit a request to the REST API is counted against.
+     *
+     * @param apiUrl of the request
+     * @return the resource, null if the request doesn't go to the API
+     */
+    private RateResource getRateResource(URI apiUrl) {
+        if (!apiUrl.toString().startsWith(GITHUB_REST_URL)) {
+            return null;
+        }
+        return apiUrl.getPath().startsWith("/search/") ? RateResource.SEARCH : RateResource.CORE;
+    }
+
+    /**
+     * Creates a GET request, which is conditional on the cached response.
+     *
+     * @param apiUrl to send the request to
+     * @param cached response of an earlier request, null for an unconditional request
+     * @param token index of the access token to send the request with
+     * @return the builder of the request
+     */
+    private HttpRequest.Builder createGetRequest(URI apiUrl, ResponseCache.Entry cached, int token) {
+        HttpRequest.Builder requestBuilder = createGetRequest(apiUrl, token);
+        if (cached != null && cached.etag() != null) {
+            requestBuilder.header("If-None-Match", cached.etag());
+        }
+        if (cached != null && cached.lastModified() != null) {
+            requestBuilder.header("If-Modified-Since", cached.lastModified());
+        }
+        return requestBuilder;
+    }
+
+    /**
+     * Creates a GET request to the GitHub API, with the access token if available.
+     *
+     * @param apiUrl to send the request to
+     * @param token index of the access token to send the request with
+     * @return the builder of the request
+     */
+    private HttpRequest.Builder createGetRequest(URI apiUrl, int token) {
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+                .uri(apiUrl)
+                .header("Accept", "application/vnd.github+json")
+                .header("User-Agent", "Java-HttpClient");
+
+        String accessToken = getAccessToken(token);
+        if (accessToken != null) {
+            requestBuilder.header("Authorization", "Bearer " + accessToken);
+        }
+        return requestBuilder;
+    }
+
+    /**
+     * Sets the rate limit tracker of the token from the headers of a response.
+     *
+     * @param response of the GitHub API
+     * @param token index of the access token, the request was sent with
+     */
+    private void updateRateLimit(HttpResponse<?> response, int token) {
+        Optional<String> rateResource = response.headers().firstValue("x-ratelimit-resource");
+        Optional<String> rateLimit = response.headers().firstValue("x-ratelimit-limit");
+        Optional<String> rateRemaining = response.headers().firstValue("x-ratelimit-remaining");
+        Optional<String> rateReset = response.headers().firstValue("x-ratelimit-reset");
+
+        if (rateResource.isPresent() && rateLimit.isPresent() && rateRemaining.isPresent() && rateReset.isPresent()) {
+            rateLimitCheck.setRateLimit(
+                    token,
+                    RateResource.valueOf(rateResource.get().toUpperCase()),
+                    Integer.parseInt(rateLimit.get()),
+                    Integer.parseInt(rateRemaining.get()),
+                    Long.parseLong(rateReset.get()) * 1000L  // Convert reset time to milliseconds
+            );
+        }
     }
 
     @Override
@@ -249,6 +478,156 @@ public final class GithubCommunication implements GitMandatories {
             CLIOutput.info("Couldn't get file: " + urlString);
             return null;
         }
+        return parseFileContent(response);
+    }
+
+    /**
+     * Requests the files concurrently, see {@link #getFiles(Map)}.
+     */
+    @Override
+    public Map<String, String> getFiles(List<String> paths, String owner, String repoName) {
+        Map<String, URI> urls = new LinkedHashMap<>();
+        for (String path : paths) {
+            urls.put(path, URI.create(GITHUB_REST_URL + "/repos/" + owner + "/" + repoName + "/contents/" + encode(path)));
+        }
+        return getFiles(urls);
+    }
+
+    /**
+     * Requests the files from the contents API concurrently, see {@link #sendAsyncGetRequest(URI)}. Each file has its
+     * own timeout, a failed file doesn't affect the others.
+     *
+     * @param urls of the files by their path
+     * @return the content by path, null for the files, which couldn't be requested
+     */
+    Map<String, String> getFiles(Map<String, URI> urls) {
+        Map<String, CompletableFuture<String>> requests = new LinkedHashMap<>();
+        for (Map.Entry<String, URI> url : urls.entrySet()) {
+            requests.put(url.getKey(), sendAsyncGetRequest(url.getValue())
+                    .thenApply(this::parseFileContent)
+                    .exceptionally(e -> {
+                        CLIOutput.info("Couldn't get file: " + url.getValue());
+                        return null;
+                    }));
+        }
+
+        Map<String, String> results = new HashMap<>();
+        for (Map.Entry<String, CompletableFuture<String>> request : requests.entrySet()) {
+            results.put(request.getKey(), request.getValue().join());
+        }
+        return results;
+    }
+
+    @Override
+    public Map<String, String> getFiles(List<String> paths, List<String> upcoming, String owner, String repoName,
+                                        FileFetchStrategy strategy) {
+        // The GraphQL API can't be used without a token.
+        if (strategy == FileFetchStrategy.GRAPHQL_BLOBS && ACCESS_TOKENS.isEmpty()) {
+            strategy = FileFetchStrategy.TARBALL;
+        }
+        return switch (strategy) {
+            case CONTENTS -> getFiles(paths, owner, repoName);
+            case GRAPHQL_BLOBS -> getFilesFromBlobs(paths, owner, repoName);
+            case TARBALL -> {
+                // The whole archive is transferred, so the upcoming files are read from it as well.
+                List<String> allPaths = new ArrayList<>(paths);
+                allPaths.addAll(upcoming);
+                yield getFilesFromArchive(allPaths, owner, repoName);
+            }
+        };
+    }
+
+    /**
+     * Requests the files as blobs of the default branch, {@link util.Globals#GRAPHQL_BLOB_BATCH_SIZE} files per
+     * GraphQL request.
+     *
+     * @param paths of the files
+     * @param owner of the repository
+     * @param repoName of the repository
+     * @return the path as key mapped to the content of the file, null if the file couldn't be requested or is binary
+     */
+    private Map<String, String> getFilesFromBlobs(List<String> paths, String owner, String repoName) {
+        Map<String, String> results = new HashMap<>();
+        List<String> queried = new ArrayList<>();
+        for (String path : paths) {
+            // Quotes and backslashes can't be escaped in the query, see sendGraphQLRequest.
+            if (path.contains("\"") || path.contains("\\")) {
+                results.put(path, getFile(path, owner, repoName));
+            } else {
+                queried.add(path);
+            }
+        }
+
+        for (int from = 0; from < queried.size(); from += GRAPHQL_BLOB_BATCH_SIZE) {
+            List<String> batch = queried.subList(from, Math.min(from + GRAPHQL_BLOB_BATCH_SIZE, queried.size()));
+            StringBuilder query = new StringBuilder("{ repository(owner: \"%s\", name: \"%s\") {".formatted(owner, repoName));
+            for (int i = 0; i < batch.size(); i++) {
+                query.append(" f%d: object(expression: \"HEAD:%s\") { ... on Blob { text } }".formatted(i, batch.get(i)));
+            }
+            query.append(" } }");
+
+            JsonNode repository = null;
+            try {
+                String response = sendGraphQLRequest(query.toString(), false);
+                if (response != null) {
+                    repository = objectMapper.readTree(response).path("data").path("repository");
+                }
+            } catch (IOException e) {
+                CLIOutput.info("Couldn't get files of: " + owner + "/" + repoName);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                JsonNode text = repository == null ? null : repository.path("f" + i).path("text");
+                results.put(batch.get(i), text != null && text.isTextual() ? text.asText() : null);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Downloads the archive of the default branch and reads the files from it.
+     *
+     * @param paths of the files
+     * @param owner of the repository
+     * @param repoName of the repository
+     * @return the path as key mapped to the content of the file, null if the file couldn't be read
+     */
+    private Map<String, String> getFilesFromArchive(List<String> paths, String owner, String repoName) {
+        URI apiUrl = URI.create(GITHUB_REST_URL + "/repos/" + owner + "/" + repoName + "/tarball");
+        Map<String, String> results = new HashMap<>();
+        try {
+            // The archive is the last alternative to a clone.
+            int token = rateLimitCheck.acquireToken(RateResource.CORE, true);
+            HttpResponse<InputStream> response = archiveClient.send(createGetRequest(apiUrl, token).build(),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream archive = response.body()) {
+                if (response.statusCode() != 200) {
+                    System.err.println("Error while getting GitHub response. Code: " + response.statusCode() + " (" + apiUrl + ")");
+                } else {
+                    results.putAll(TarReader.readFiles(archive, new HashSet<>(paths)));
+                }
+            }
+        } catch (IOException e) {
+            CLIOutput.info("Couldn't get archive: " + apiUrl);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (String path : paths) {
+            results.putIfAbsent(path, null);
+        }
+        return results;
+    }
+
+    /**
+     * Gets the content of a file from the response of the contents endpoint.
+     *
+     * @param response of the request, may be null
+     * @return the decoded content, null if the response is null or couldn't be read
+     */
+    private String parseFileContent(String response) {
         if (response == null) {
             return null;
         }
@@ -274,9 +653,15 @@ public final class GithubCommunication implements GitMandatories {
 
     @Override
     public boolean cloneRepo(String owner, String repo, Path path) {
+        return cloneRepo(owner, repo, path, CloneMode.FULL, null, file -> true);
+    }
+
+    @Override
+    public boolean cloneRepo(String owner, String repo, Path path, CloneMode mode, String defaultBranch,
+                             Predicate<String> checkoutFilter) {
 
         CLIOutput.info("Cloning: " + owner + "/" + repo);
-        String repoUrl = "https://github.com/" + owner + "/" + repo + ".git";
+        URI repoUrl = URI.create("https://github.com/" + owner + "/" + repo + ".git");
 
         if (path.toFile().exists()) {
             CLIOutput.info("Repository already cloned to: " + path);
@@ -284,21 +669,8 @@ public final class GithubCommunication implements GitMandatories {
         }
 
         try {
-            if (ACCESS_TOKEN == null) {
-                Git.cloneRepository()
-                        .setURI(repoUrl)
-                        .setDirectory(path.toFile())
-                        .call();
-            } else {
-                Git.cloneRepository()
-                        .setURI(repoUrl)
-                        .setCredentialsProvider(new UsernamePasswordCredentialsProvider("git", ACCESS_TOKEN))
-                        .setDirectory(path.toFile())
-                        .call();
-            }
-
-
-        } catch (GitAPIException | InvalidPathException e) {
+            LocalClone.cloneRepo(repoUrl, path, mode, defaultBranch, checkoutFilter, getCloneCredentials());
+        } catch (GitAPIException | InvalidPathException | IOException e) {
             CLIOutput.error("Couldn't clone repository: " + e.getMessage());
             return false;
         }
@@ -306,12 +678,33 @@ public final class GithubCommunication implements GitMandatories {
         return true;
     }
 
+    @Override
+    public boolean updateClone(String owner, String repo, Path path) {
+        try {
+            LocalClone.updateClone(path, getCloneCredentials());
+        } catch (IOException | GitAPIException e) {
+            CLIOutput.info("Couldn't update clone of " + owner + "/" + repo + ": " + e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the credentials for cloning and fetching.
+     * Clones don't count against the rate limits, so always the first token is used.
+     *
+     * @return the credentials, null if no token is set
+     */
+    private static CredentialsProvider getCloneCredentials() {
+        return ACCESS_TOKENS.isEmpty() ? null : new UsernamePasswordCredentialsProvider("git", getAccessToken(0));
+    }
+
     @Override
     public JsonNode generalInfo(String owner, String repo) {
         String apiUrl = GITHUB_REST_URL + "/repos/" + owner + "/" + repo;
         String response;
         try {
-            response = sendGetRequest(URI.create(apiUrl));
+            response = sendGetRequest(URI.create(apiUrl), false, true);
         } catch (IOException | InterruptedException e) {
             return null;
         }
@@ -330,7 +723,7 @@ public final class GithubCommunication implements GitMandatories {
         String apiUrl = "https://github.com" + "/" + owner + "/" + repo;
         String response;
         try {
-            response = sendGetRequest(URI.create(apiUrl), true);
+            response = sendGetRequest(URI.create(apiUrl), true, false);
         } catch (IOException | InterruptedException e) {
             return false;
         }
@@ -353,7 +746,7 @@ public final class GithubCommunication implements GitMandatories {
 
         String response;
         try {
-            response = sendGraphQLRequest(query);
+            response = sendGraphQLRequest(query, true);
         } catch (IOException | InterruptedException e) {
             return new String[0];
         }
@@ -369,6 +762,63 @@ public final class GithubCommunication implements GitMandatories {
         }
     }
 
+    /**
+     * Gets the metadata of several repositories with one GraphQL request: stars, size, default branch, time of the
+     * last push and the other repositories of the owner. Each repository is queried under its own alias.
+     * Repositories that don't exist, or the whole batch if the request fails, are missing in the result.
+     *
+     * @param repositories to get the metadata of, at most {@link util.Globals#METADATA_BATCH_SIZE}
+     * @return the repository node of the response for each found repository
+     */
+    public Map<Repository, JsonNode> getMetadata(List<Repository> repositories) {
+        Map<Repository, JsonNode> metadata = new HashMap<>();
+        // The GraphQL API can't be used without a token.
+        if (repositories.isEmpty() || ACCESS_TOKENS.isEmpty() || !rateLimitCheck.checkHardRateLimit(RateResource.GRAPHQL)) {
+            return metadata;
+        }
+
+        StringBuilder query = new StringBuilder("{");
+        for (int i = 0; i < repositories.size(); i++) {
+            Repository repository = repositories.get(i);
+            query.append("""
+                r%d: repository(owner: "%s", name: "%s") {
+                    stargazerCount
+                    diskUsage
+                    pushedAt
+                    defaultBranchRef {
+                        name
+                    }
+                    owner {
+                        ... on Organization {
+                            repositories(first: 100, privacy: PUBLIC) {
+                                nodes {
+                                    name
+                                }
+                            }
+                        }
+                    }
+                }
+            """.formatted(i, repository.getOwner(), repository.getRepositoryName()));
+        }
+        query.append("}");
+
+        String response;
+        try {
+            response = sendGraphQLRequest(query.toString(), true);
+        } catch (IOException | InterruptedException e) {
+            return metadata;
+        }
+        if (response == null) {
+            return metadata;
+        }
+
+        try {
+            return JsonUtil.parseGraphQLMetadata(objectMapper.readTree(response), repositories);
+        } catch (JsonProcessingException e) {
+            return metadata;
+        }
+    }
+
     public int getMaxResults(String searchTerm, int numberOfStars) throws JsonProcessingException {
         String responseBody;
 
@@ -385,7 +835,7 @@ public final class GithubCommunication implements GitMandatories {
         }
 
         try {
-            responseBody = sendGetRequest(URI.create(apiUrl));
+            responseBody = sendGetRequest(URI.create(apiUrl), false, true);
         } catch (IOException | InterruptedException e) {
             return 0;
         }
@@ -397,7 +847,18 @@ public final class GithubCommunication implements GitMandatories {
         return rootNode.get("total_count").asInt();
     }
 
-    private String sendGraphQLRequest(String query) throws IOException, InterruptedException {
+    /**
+     * Sends a query to the GitHub GraphQL API. Waits for the permit of the rate limit first.
+     * Updates the rate limit tracker.
+     *
+     * @param query to send
+     * @param critical if the request has no alternative and may use the reserved rate limit
+     * @return the response, null if the status isn't OK
+     * @throws IOException if the request couldn't be sent
+     * @throws InterruptedException if interrupted while waiting for the permit or the response
+     */
+    private String sendGraphQLRequest(String query, boolean critical) throws IOException, InterruptedException {
+        int token = rateLimitCheck.acquireToken(RateResource.GRAPHQL, critical);
         String jsonQuery = String.format("{\"query\": \"%s\"}", query.replace("\"", "\\\"").replace("\n", " "));
 
         URI uri = URI.create(GITHUB_GRAPHQL_URL);
@@ -405,7 +866,7 @@ public final class GithubCommunication implements GitMandatories {
                 .uri(uri)
                 .header("Accept", "application/vnd.github+json")
                 .header("User-Agent", "Java-HttpClient")
-                .header("Authorization", "Bearer " + ACCESS_TOKEN)
+                .header("Authorization", "Bearer " + getAccessToken(token))
                 .header("Content-Type", "application/json")
                 .POST(HttpRequest.BodyPublishers.ofString(jsonQuery, StandardCharsets.UTF_8));
 
@@ -417,6 +878,7 @@ public final class GithubCommunication implements GitMandatories {
             return null;
         }
 
+        updateRateLimit(response, token);
         return response.body();
     }
 
@@ -4,21 +4,55 @@ import repository_information.RateLimitMandatories;
 import util.CLIOutput;
 
 import java.util.*;
-
-import static util.Globals.RATE_LIMIT_THRESHOLD;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static util.Globals.MAX_PACING_WAIT;
+import static util.Globals.RATE_LIMIT_BURST;
+import static util.Globals.RATE_LIMIT_RESERVE;
+
+/**
+ * Tracks the rate limits of each access token and routes requests to the token with the most remaining budget.
+ * The methods of {@link RateLimitMandatories} without a token refer to all tokens together.
+ * Lock-free: the state of each rate limit is kept by its {@link TokenBucket}.
+ */
 public class GithubRateLimitCheck implements RateLimitMandatories {
 
-    private static GithubRateLimitCheck rateLimitCheck;
+    /**
+     * Maximal time in milliseconds to wait for a permit at once. The budget is checked again afterward, because a
+     * response may have reported a new one in the meantime.
+     */
+    private static final long MAX_WAIT = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Holds the instance, created on first use without locking.
+     */
+    private static final class Holder {
+        private static final GithubRateLimitCheck INSTANCE = new GithubRateLimitCheck(1);
+    }
 
-    private final Map<RateResource, RateLimit> rateLimits;
+    /**
+     * The rate limits of one access token.
+     *
+     * @param buckets keeps the budget and paces the requests of each resource
+     */
+    private record TokenLimits(Map<RateResource, TokenBucket> buckets) {
 
-    private GithubRateLimitCheck() {
-        rateLimits = new HashMap<>();
-        for (RateResource resource : RateResource.values()) {
-            rateLimits.put(resource, new RateLimit(resource));
+        TokenLimits() {
+            this(new EnumMap<>(RateResource.class));
+            for (RateResource resource : RateResource.values()) {
+                buckets.put(resource, new TokenBucket(RATE_LIMIT_BURST, RATE_LIMIT_RESERVE, System::currentTimeMillis));
+            }
         }
+    }
+
+    /**
+     * The rate limits of each access token, in the order of the tokens.
+     */
+    private volatile List<TokenLimits> tokens;
 
+    GithubRateLimitCheck(int numberOfTokens) {
+        setNumberOfTokens(numberOfTokens);
     }
 
     /**
@@ -27,24 +61,43 @@ public class GithubRateLimitCheck implements RateLimitMandatories {
      * @return the rate limit check.
      */
     public static GithubRateLimitCheck getInstance() {
-        if (rateLimitCheck == null) {
-            rateLimitCheck = new GithubRateLimitCheck();
+        return Holder.INSTANCE;
+    }
 
+    /**
+     * Sets the number of access tokens, the requests are distributed to. Resets all rate limits.
+     *
+     * @param numberOfTokens at least 1, also without any token the requests are tracked as one
+     */
+    public synchronized void setNumberOfTokens(int numberOfTokens) {
+        List<TokenLimits> newTokens = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, numberOfTokens); i++) {
+            newTokens.add(new TokenLimits());
         }
-        return rateLimitCheck;
+        tokens = List.copyOf(newTokens);
     }
 
     @Override
-    public synchronized void setRateLimit(RateResource resource, int maxRequests, int requestsLeft, Date resetTime) {
-        RateLimit rateLimit = rateLimits.get(resource);
-        rateLimit.setMaxRequests(maxRequests);
-        rateLimit.setRequestsLeft(requestsLeft);
-        rateLimit.setResetTime(resetTime);
+    public void setRateLimit(RateResource resource, int maxRequests, int requestsLeft, long resetTime) {
+        setRateLimit(0, resource, maxRequests, requestsLeft, resetTime);
+    }
+
+    /**
+     * Sets the rate limit of a token, as reported by a response to a request with the token.
+     *
+     * @param token index of the token
+     * @param resource the request was counted against
+     * @param maxRequests per window
+     * @param requestsLeft in the current window
+     * @param resetTime of the current window in milliseconds since the epoch
+     */
+    public void setRateLimit(int token, RateResource resource, int maxRequests, int requestsLeft, long resetTime) {
+        tokens.get(token).buckets().get(resource).update(maxRequests, requestsLeft, resetTime);
     }
 
     @Override
     public boolean checkRateLimit() {
-        for (RateResource rateLimit : rateLimits.keySet()) {
+        for (RateResource rateLimit : RateResource.values()) {
             if (!checkMildRateLimit(rateLimit)) {
                 return false;
             }
@@ -54,27 +107,131 @@ public class GithubRateLimitCheck implements RateLimitMandatories {
 
     @Override
     public boolean checkMildRateLimit(RateResource resource) {
-        RateLimit rateLimit = rateLimits.get(resource);
-        if (rateLimit.getRequestsLeft() >= (rateLimit.getMaxRequests()) * RATE_LIMIT_THRESHOLD) {
+        TokenBucket bucket = tokens.get(selectToken(resource, false)).buckets().get(resource);
+        if (bucket.getDelay(false) <= MAX_PACING_WAIT) {
             return true;
         }
-        CLIOutput.info("Rate limit for " + resource + " at " + RATE_LIMIT_THRESHOLD * 100 + "%. Trying to switch to cloning.");
-        CLIOutput.info("Rate limit resets at " + rateLimit.getResetTime());
+        // Only once per window, the check is called before most requests.
+        if (bucket.report()) {
+            CLIOutput.info("Rate limit for " + resource + " is paced or only the reserve of " + RATE_LIMIT_RESERVE * 100
+                    + "% is left. Trying to switch to cloning. Rate limit resets in "
+                    + TimeUnit.MILLISECONDS.toMinutes(getTimeTillReset(resource)) + " minutes.");
+        }
         return false;
     }
 
+    @Override
+    public void acquire(RateResource resource, boolean critical) throws InterruptedException {
+        acquireToken(resource, critical);
+    }
+
+    @Override
+    public CompletableFuture<Void> acquireAsync(RateResource resource, boolean critical) {
+        return acquireTokenAsync(resource, critical).thenApply(token -> null);
+    }
+
+    /**
+     * Waits till a request to the resource may be sent with one of the tokens, see
+     * {@link #acquire(RateResource, boolean)}. Takes the token, which can send the request the earliest, and of
+     * those the one with the most remaining budget.
+     *
+     * @param resource the request is counted against
+     * @param critical if the request has a higher priority
+     * @return index of the token to send the request with
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public int acquireToken(RateResource resource, boolean critical) throws InterruptedException {
+        while (true) {
+            int token = selectToken(resource, critical);
+            long delay = tokens.get(token).buckets().get(resource).reserve(critical);
+            if (delay == 0) {
+                return token;
+            }
+            Thread.sleep(Math.min(delay, MAX_WAIT));
+        }
+    }
+
+    /**
+     * Like {@link #acquireToken(RateResource, boolean)}, but without blocking the calling thread.
+     *
+     * @param resource the request is counted against
+     * @param critical if the request has a higher priority
+     * @return completed with the index of the token to send the request with
+     */
+    public CompletableFuture<Integer> acquireTokenAsync(RateResource resource, boolean critical) {
+        int token = selectToken(resource, critical);
+        long delay = tokens.get(token).buckets().get(resource).reserve(critical);
+        if (delay == 0) {
+            return CompletableFuture.completedFuture(token);
+        }
+        return CompletableFuture.runAsync(() -> { },
+                        CompletableFuture.delayedExecutor(Math.min(delay, MAX_WAIT), TimeUnit.MILLISECONDS))
+                .thenCompose(ignored -> acquireTokenAsync(resource, critical));
+    }
+
+    /**
+     * Selects the token, which can send a request the earliest. Of those, the one with the most remaining budget.
+     *
+     * @param resource the request is counted against
+     * @param critical if the request has a higher priority
+     * @return index of the token
+     */
+    private int selectToken(RateResource resource, boolean critical) {
+        List<TokenLimits> current = tokens;
+        int best = 0;
+        long bestDelay = Long.MAX_VALUE;
+        int bestRequestsLeft = Integer.MIN_VALUE;
+        for (int i = 0; i < current.size(); i++) {
+            TokenBucket bucket = current.get(i).buckets().get(resource);
+            long delay = bucket.getDelay(critical);
+            int requestsLeft = bucket.getRequestsLeft();
+            if (delay < bestDelay || (delay == bestDelay && requestsLeft > bestRequestsLeft)) {
+                best = i;
+                bestDelay = delay;
+                bestRequestsLeft = requestsLeft;
+            }
+        }
+        return best;
+    }
+
     @Override
     public boolean checkHardRateLimit(RateResource resource) {
-        return rateLimits.get(resource).getMaxRequests() > 0;
+        for (TokenLimits limits : tokens) {
+            // Without a response, the budget is unknown and assumed to be available.
+            if (limits.buckets().get(resource).getRequestsLeft() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the requests left of all tokens together, counted down by the permitted requests since the last
+     * responses, see {@link TokenBucket#getRequestsLeft()}.
+     */
+    @Override
+    public int getRequestsLeft(RateResource resource) {
+        long requestsLeft = 0;
+        for (TokenLimits limits : tokens) {
+            requestsLeft += limits.buckets().get(resource).getRequestsLeft();
+        }
+        return (int) Math.min(Integer.MAX_VALUE, requestsLeft);
     }
 
+    /**
+     * Returns the time till the first token resets its rate limit for the resource.
+     */
     @Override
     public long getTimeTillReset(RateResource rateResource) {
-        RateLimit rateLimit = rateLimits.get(rateResource);
-        if (rateLimit.getResetTime() != null) {
-            return rateLimit.getResetTime().getTime() - new Date().getTime();
+        long now = System.currentTimeMillis();
+        long timeTillReset = Long.MAX_VALUE;
+        for (TokenLimits limits : tokens) {
+            long resetTime = limits.buckets().get(rateResource).getResetTime();
+            if (resetTime > 0) {
+                timeTillReset = Math.min(timeTillReset, Math.max(0, resetTime - now));
+            }
         }
-        return Long.MAX_VALUE;
+        return timeTillReset;
     }
 
 
@@ -0,0 +1,249 @@
+package repository_information.GitHub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import util.CLIOutput;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the responses of the GitHub REST API on disk across runs, with their ETag and Last-Modified header.
+ * A cached response is revalidated with a conditional request, which GitHub answers with 304 Not Modified without
+ * charging the rate limit.
+ * Entries are deleted, if they weren't validated for longer than the time to live, or if the cache exceeds its size.
+ * Then, the least recently used entries are deleted first.
+ */
+final class ResponseCache {
+
+    /**
+     * A cached response.
+     *
+     * @param url of the request, to detect collisions of the file names
+     * @param etag of the response, null if the response had none
+     * @param lastModified of the response, null if the response had none
+     * @param body of the response
+     */
+    record Entry(String url, String etag, String lastModified, String body) {
+    }
+
+    private static final String FILE_EXTENSION = ".json";
+
+    private static final String TMP_EXTENSION = ".tmp";
+
+    /**
+     * Share of the maximal size, the cache is reduced to, when it exceeds the maximal size. So not every further
+     * response causes an eviction.
+     */
+    private static final double EVICTION_TARGET = 0.9;
+
+    private final Path cachePath;
+
+    /**
+     * Maximal size of all entries in bytes.
+     */
+    private final long maxSize;
+
+    private final Duration timeToLive;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Maps the file name of each entry to its size, the least recently used entry first. Guarded by this.
+     * The files are only read and written outside the lock.
+     */
+    private final Map<String, Long> sizes = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Sum of {@link #sizes}. Guarded by this.
+     */
+    private long size = 0;
+
+    /**
+     * Creates a cache and deletes its expired entries.
+     *
+     * @param cachePath the folder of the entries
+     * @param maxSize of all entries in bytes
+     * @param timeToLive of an entry since its last validation
+     */
+    ResponseCache(Path cachePath, long maxSize, Duration timeToLive) {
+        this.cachePath = cachePath;
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+
+        if (!Files.isDirectory(cachePath)) {
+            return;
+        }
+        Map<Path, FileTime> lastValidation = new HashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cachePath, "*" + FILE_EXTENSION)) {
+            for (Path file : files) {
+                if (isExpired(file)) {
+                    Files.deleteIfExists(file);
+                } else {
+                    lastValidation.put(file, Files.getLastModifiedTime(file));
+                }
+            }
+            // The entries of the previous runs in the order of their last validation.
+            List<Path> ordered = new ArrayList<>(lastValidation.keySet());
+            ordered.sort(Comparator.comparing(lastValidation::get));
+            for (Path file : ordered) {
+                long fileSize = Files.size(file);
+                sizes.put(file.getFileName().toString(), fileSize);
+                size += fileSize;
+            }
+        } catch (IOException e) {
+            CLIOutput.warning("Couldn't read the response cache: " + e.getMessage());
+        }
+        // Left over by an aborted run.
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cachePath, "*" + TMP_EXTENSION)) {
+            for (Path file : files) {
+                deleteFile(file);
+            }
+        } catch (IOException e) {
+            // Deleted with the next run.
+        }
+    }
+
+    /**
+     * Gets the cached response of a request.
+     *
+     * @param url of the request
+     * @return the response, null if it isn't cached or expired
+     */
+    Entry get(URI url) {
+        Path file = getFile(url);
+        synchronized (this) {
+            if (sizes.get(file.getFileName().toString()) == null) {
+                return null;
+            }
+        }
+        try {
+            if (isExpired(file)) {
+                delete(file);
+                return null;
+            }
+            Entry entry = objectMapper.readValue(file.toFile(), Entry.class);
+            return entry.url().equals(url.toString()) ? entry : null;
+        } catch (IOException e) {
+            delete(file);
+            return null;
+        }
+    }
+
+    /**
+     * Caches a response. Responses without ETag and Last-Modified can't be revalidated, so they aren't cached.
+     *
+     * @param url of the request
+     * @param etag of the response, may be null
+     * @param lastModified of the response, may be null
+     * @param body of the response
+     */
+    void put(URI url, String etag, String lastModified, String body) {
+        if (etag == null && lastModified == null) {
+            return;
+        }
+        Path file = getFile(url);
+        long fileSize;
+        try {
+            Files.createDirectories(cachePath);
+            // Written completely before it replaces the entry, so a concurrent get never reads a partial entry.
+            Path tmp = Files.createTempFile(cachePath, file.getFileName().toString(), TMP_EXTENSION);
+            try {
+                objectMapper.writeValue(tmp.toFile(), new Entry(url.toString(), etag, lastModified, body));
+                fileSize = Files.size(tmp);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            delete(file);
+            return;
+        }
+
+        List<String> evicted = new ArrayList<>();
+        synchronized (this) {
+            Long previous = sizes.put(file.getFileName().toString(), fileSize);
+            size += fileSize - (previous == null ? 0 : previous);
+            if (size > maxSize) {
+                // The least recently used entries first, till the cache is below the target.
+                Iterator<Map.Entry<String, Long>> entries = sizes.entrySet().iterator();
+                while (size > maxSize * EVICTION_TARGET && entries.hasNext()) {
+                    Map.Entry<String, Long> entry = entries.next();
+                    size -= entry.getValue();
+                    evicted.add(entry.getKey());
+                    entries.remove();
+                }
+            }
+        }
+        for (String name : evicted) {
+            deleteFile(cachePath.resolve(name));
+        }
+    }
+
+    /**
+     * Marks the cached response as validated, after the API answered that it isn't modified.
+     *
+     * @param url of the request
+     */
+    void validated(URI url) {
+        Path file = getFile(url);
+        synchronized (this) {
+            if (sizes.get(file.getFileName().toString()) == null) {
+                return;
+            }
+        }
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            // The entry expires earlier.
+        }
+    }
+
+    private boolean isExpired(Path file) throws IOException {
+        return Files.getLastModifiedTime(file).toInstant().plus(timeToLive).isBefore(Instant.now());
+    }
+
+    private void delete(Path file) {
+        synchronized (this) {
+            Long fileSize = sizes.remove(file.getFileName().toString());
+            if (fileSize != null) {
+                size -= fileSize;
+            }
+        }
+        deleteFile(file);
+    }
+
+    private static void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Overwritten with the next response.
+        }
+    }
+
+    private Path getFile(URI url) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(url.toString().getBytes(StandardCharsets.UTF_8));
+            return cachePath.resolve(HexFormat.of().formatHex(hash) + FILE_EXTENSION);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is supported by every Java platform.", e);
+        }
+    }
+}
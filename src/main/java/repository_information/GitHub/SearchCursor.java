@@ -0,0 +1,186 @@
+package repository_information.GitHub;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Position of a paged repository search. The GitHub search only returns the first 1000 results of a query, so the
+ * query is split into ranges of the creation date, until each range has at most 1000 results.
+ * For more information see: <a href="https://docs.github.com/en/rest/search/search?apiVersion=2022-11-28#about-search">GitHub search</a>.
+ */
+public final class SearchCursor {
+
+    /**
+     * Maximum number of results GitHub returns for one query.
+     */
+    static final int RESULT_CAP = 1000;
+
+    /**
+     * No repository on GitHub is created before this date.
+     */
+    private static final LocalDate FIRST_CREATION_DATE = LocalDate.of(2007, 10, 1);
+
+    /**
+     * Range of creation dates, both inclusive.
+     *
+     * @param from first day of the range
+     * @param to last day of the range
+     */
+    record DateRange(LocalDate from, LocalDate to) {
+
+        boolean isSplittable() {
+            return from.isBefore(to);
+        }
+    }
+
+    /**
+     * Position of a cursor, to continue the search in a later run.
+     *
+     * @param searchTerm to search for, null to search only by stars
+     * @param minStars the repositories need more stars than this
+     * @param pageSize number of results per request
+     * @param ranges date ranges still to search, formatted as from..to
+     * @param page of the first range to request next
+     */
+    public record State(String searchTerm, int minStars, int pageSize, List<String> ranges, int page) {
+    }
+
+    private final String searchTerm;
+
+    private final int minStars;
+
+    private final int pageSize;
+
+    /**
+     * Date ranges still to search. The first one is the current range.
+     */
+    private final Deque<DateRange> ranges = new ArrayDeque<>();
+
+    /**
+     * Page of the current range to request next, starting with 1.
+     */
+    private int page = 1;
+
+    /**
+     * Creates a cursor over all repositories matching the search.
+     *
+     * @param searchTerm to search for, null to search only by stars
+     * @param minStars the repositories need more stars than this
+     * @param pageSize number of results per request, at most 100
+     */
+    public SearchCursor(String searchTerm, int minStars, int pageSize) {
+        this(searchTerm, minStars, pageSize, new DateRange(FIRST_CREATION_DATE, LocalDate.now()));
+    }
+
+    SearchCursor(String searchTerm, int minStars, int pageSize, DateRange range) {
+        this.searchTerm = searchTerm;
+        this.minStars = minStars;
+        this.pageSize = pageSize;
+        ranges.add(range);
+    }
+
+    /**
+     * Creates a cursor at the saved position.
+     *
+     * @param state as returned by {@link #getState()}
+     */
+    public SearchCursor(State state) {
+        this.searchTerm = state.searchTerm();
+        this.minStars = state.minStars();
+        this.pageSize = state.pageSize();
+        for (String range : state.ranges()) {
+            String[] dates = range.split("\\.\\.");
+            ranges.add(new DateRange(LocalDate.parse(dates[0]), LocalDate.parse(dates[1])));
+        }
+        this.page = state.page();
+    }
+
+    /**
+     * Returns the position of the cursor, to continue the search in a later run.
+     *
+     * @return the current position
+     */
+    public State getState() {
+        List<String> savedRanges = new ArrayList<>(ranges.size());
+        for (DateRange range : ranges) {
+            savedRanges.add(range.from() + ".." + range.to());
+        }
+        return new State(searchTerm, minStars, pageSize, savedRanges, page);
+    }
+
+    /**
+     * Returns the URL encoded search query for the current date range.
+     *
+     * @return value of the q parameter
+     */
+    String getQuery() {
+        DateRange range = ranges.getFirst();
+        String query = "stars" + encode(":>") + minStars + "+created" + encode(":" + range.from() + ".." + range.to());
+        if (searchTerm != null) {
+            query = encode(searchTerm) + "+" + query;
+        }
+        return query;
+    }
+
+    /**
+     * Getter for the page to request next.
+     *
+     * @return the page number, starting with 1
+     */
+    int getPage() {
+        return page;
+    }
+
+    /**
+     * Getter for the number of results per page.
+     *
+     * @return page size
+     */
+    int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Returns if all results of the search were requested.
+     *
+     * @return true, if no further request is necessary
+     */
+    public boolean isFinished() {
+        return ranges.isEmpty();
+    }
+
+    /**
+     * Moves the cursor after a page was received.
+     * If the current range has more results than GitHub returns, it is split in two halves, which are searched
+     * instead. Otherwise, the next page is requested, or the next range if the current one has no more results.
+     *
+     * @param totalCount number of results of the current range, as reported by GitHub
+     * @param receivedItems number of results on the received page
+     */
+    void advance(int totalCount, int receivedItems) {
+        DateRange range = ranges.getFirst();
+        if (page == 1 && totalCount > RESULT_CAP && range.isSplittable()) {
+            ranges.removeFirst();
+            LocalDate middle = range.from().plusDays(ChronoUnit.DAYS.between(range.from(), range.to()) / 2);
+            ranges.addFirst(new DateRange(middle.plusDays(1), range.to()));
+            ranges.addFirst(new DateRange(range.from(), middle));
+            return;
+        }
+        if (receivedItems < pageSize || (long) page * pageSize >= Math.min(totalCount, RESULT_CAP)) {
+            ranges.removeFirst();
+            page = 1;
+        } else {
+            page++;
+        }
+    }
+
+    private static String encode(String content) {
+        return URLEncoder.encode(content, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
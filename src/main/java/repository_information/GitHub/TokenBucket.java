@@ -0,0 +1,220 @@
+package repository_information.GitHub;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Paces the requests of one {@link RateResource}, so its budget is spread evenly over the time till the reset.
+ * Requests are permitted at the rate of the remaining budget per remaining time, with bursts of up to
+ * {@link #burst} requests. A part of the budget is reserved for critical requests, which are never paced.
+ * The budget is set from the headers of the responses, and counted down by the permitted requests in between.
+ * Lock-free: the state is immutable and replaced atomically, the checks only read it.
+ */
+final class TokenBucket {
+
+    /**
+     * Length of a rate limit window of the GitHub API. Assumed after a reset, till a response reports the new one.
+     */
+    private static final long WINDOW = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * State of the bucket. Replaced as a whole, so the checks read a consistent state without locking.
+     *
+     * @param maxRequests per window, -1 as long as no response reported it. Requests are not paced before.
+     * @param requestsLeft in the current window
+     * @param resetTime of the current window in milliseconds since the epoch
+     * @param tokens requests, which can be sent right away without exceeding the pace
+     * @param lastRefill time of the last refill of the tokens in milliseconds since the epoch
+     * @param reported true, if the pacing was already reported in the current window
+     */
+    private record State(int maxRequests, int requestsLeft, long resetTime, double tokens, long lastRefill,
+                         boolean reported) {
+    }
+
+    private final int burst;
+
+    /**
+     * Fraction of the maximal requests, only critical requests may use.
+     */
+    private final double reserveFraction;
+
+    /**
+     * Current time in milliseconds since the epoch.
+     */
+    private final LongSupplier clock;
+
+    private final AtomicReference<State> state;
+
+    /**
+     * Creates a bucket with full burst.
+     *
+     * @param burst maximal number of requests sent at once
+     * @param reserveFraction fraction of the maximal requests reserved for critical requests
+     * @param clock returns the current time in milliseconds since the epoch
+     */
+    TokenBucket(int burst, double reserveFraction, LongSupplier clock) {
+        this.burst = burst;
+        this.reserveFraction = reserveFraction;
+        this.clock = clock;
+        this.state = new AtomicReference<>(new State(-1, 0, 0, burst, clock.getAsLong(), false));
+    }
+
+    /**
+     * Sets the budget from the headers of a response. Responses of the same window can arrive out of order, so the
+     * lower number of remaining requests counts.
+     *
+     * @param maxRequests per window
+     * @param requestsLeft in the current window
+     * @param resetTime of the current window in milliseconds since the epoch
+     */
+    void update(int maxRequests, int requestsLeft, long resetTime) {
+        state.updateAndGet(current -> {
+            if (resetTime == current.resetTime() && current.maxRequests() >= 0) {
+                return new State(maxRequests, Math.min(current.requestsLeft(), requestsLeft), resetTime,
+                        current.tokens(), current.lastRefill(), current.reported());
+            }
+            return new State(maxRequests, requestsLeft, resetTime, current.tokens(), current.lastRefill(), false);
+        });
+    }
+
+    /**
+     * Takes a permit for a request, if one is available right away.
+     *
+     * @param critical if the request may use the reserved budget without being paced
+     * @return 0 if the permit is taken, otherwise the milliseconds till a permit may be available
+     */
+    long reserve(boolean critical) {
+        while (true) {
+            State current = state.get();
+            long now = clock.getAsLong();
+            State refilled = refill(current, now);
+            long delay = delay(refilled, critical, now);
+            if (delay > 0 || refilled.maxRequests() < 0) {
+                return delay;
+            }
+            State taken = new State(refilled.maxRequests(), refilled.requestsLeft() - 1, refilled.resetTime(),
+                    critical ? refilled.tokens() : Math.max(0, refilled.tokens() - 1), now, refilled.reported());
+            if (state.compareAndSet(current, taken)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the time till a permit may be available, without taking it.
+     *
+     * @param critical if the request may use the reserved budget without being paced
+     * @return milliseconds till a permit may be available, 0 if it is available right away
+     */
+    long getDelay(boolean critical) {
+        long now = clock.getAsLong();
+        return delay(refill(state.get(), now), critical, now);
+    }
+
+    /**
+     * Getter for the remaining budget, counted down by the permitted requests since the last response.
+     *
+     * @return number of requests left, {@link Integer#MAX_VALUE} as long as no response reported the rate limit
+     */
+    int getRequestsLeft() {
+        State current = state.get();
+        if (current.maxRequests() < 0) {
+            return Integer.MAX_VALUE;
+        }
+        return clock.getAsLong() >= current.resetTime() ? current.maxRequests() : current.requestsLeft();
+    }
+
+    /**
+     * Getter for the maximal requests per window.
+     *
+     * @return maximal requests as reported by the last response, -1 as long as no response reported the rate limit
+     */
+    int getMaxRequests() {
+        return state.get().maxRequests();
+    }
+
+    /**
+     * Getter for the reset of the current window. After a reset, which no response reported yet, a window of one
+     * hour is assumed.
+     *
+     * @return time of the reset in milliseconds since the epoch, 0 as long as no response reported the rate limit
+     */
+    long getResetTime() {
+        State current = state.get();
+        if (current.maxRequests() < 0) {
+            return 0;
+        }
+        return refill(current, clock.getAsLong()).resetTime();
+    }
+
+    /**
+     * Marks the pacing as reported in the current window.
+     *
+     * @return true, if it wasn't reported in the current window before
+     */
+    boolean report() {
+        while (true) {
+            State current = state.get();
+            State refilled = refill(current, clock.getAsLong());
+            if (refilled.reported()) {
+                return false;
+            }
+            State reported = new State(refilled.maxRequests(), refilled.requestsLeft(), refilled.resetTime(),
+                    refilled.tokens(), refilled.lastRefill(), true);
+            if (state.compareAndSet(current, reported)) {
+                return true;
+            }
+        }
+    }
+
+    private long delay(State current, boolean critical, long now) {
+        if (current.maxRequests() < 0) {
+            return 0;
+        }
+        if (available(current, critical) <= 0) {
+            return Math.max(1, current.resetTime() - now);
+        }
+        if (critical || current.tokens() >= 1) {
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - current.tokens()) * interval(current, now)));
+    }
+
+    /**
+     * Returns the state at the given time: with the tokens refilled since the last refill, and with the full budget,
+     * if the window was reset in the meantime.
+     */
+    private State refill(State current, long now) {
+        if (current.maxRequests() < 0) {
+            return current;
+        }
+        State refilled = current;
+        if (now >= current.resetTime()) {
+            refilled = new State(current.maxRequests(), current.maxRequests(), now + WINDOW, current.tokens(),
+                    current.lastRefill(), false);
+        }
+        double tokens = refilled.tokens();
+        if (available(refilled, false) > 0) {
+            tokens = Math.min(burst, tokens + (now - refilled.lastRefill()) / interval(refilled, now));
+        }
+        return new State(refilled.maxRequests(), refilled.requestsLeft(), refilled.resetTime(), tokens, now,
+                refilled.reported());
+    }
+
+    /**
+     * Time between two paced requests: the time till the reset spread over the remaining budget.
+     *
+     * @return milliseconds between two paced requests
+     */
+    private double interval(State current, long now) {
+        return (double) Math.max(1, current.resetTime() - now) / Math.max(1, available(current, false));
+    }
+
+    private int available(State current, boolean critical) {
+        if (critical) {
+            return current.requestsLeft();
+        }
+        return current.requestsLeft() - (int) Math.ceil(current.maxRequests() * reserveFraction);
+    }
+}
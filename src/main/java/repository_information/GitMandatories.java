@@ -3,6 +3,10 @@ package repository_information;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 public interface GitMandatories {
 
@@ -25,6 +29,39 @@ public interface GitMandatories {
      */
     String getFile(String path, String owner, String repositoryName);
 
+    /**
+     * Get several files from the repository. Implementations may request the files concurrently.
+     *
+     * @param paths of the files
+     * @param owner of the associated repository
+     * @param repositoryName of the associated repository
+     * @return the path as key mapped to the content of the file, null if the file couldn't be requested.
+     */
+    default Map<String, String> getFiles(List<String> paths, String owner, String repositoryName) {
+        Map<String, String> results = new HashMap<>();
+        for (String path : paths) {
+            results.put(path, getFile(path, owner, repositoryName));
+        }
+        return results;
+    }
+
+    /**
+     * Get several files from the repository with the given strategy. Implementations, that don't support the strategy,
+     * use {@link #getFiles(List, String, String)}.
+     *
+     * @param paths of the files
+     * @param upcoming paths of files, which will likely be requested next. Returned as well, if the strategy
+     *                 transfers them anyway, i.e., {@link FileFetchStrategy#TARBALL}.
+     * @param owner of the associated repository
+     * @param repositoryName of the associated repository
+     * @param strategy how to request the files
+     * @return the path as key mapped to the content of the file, null if the file couldn't be requested.
+     */
+    default Map<String, String> getFiles(List<String> paths, List<String> upcoming, String owner, String repositoryName,
+                                         FileFetchStrategy strategy) {
+        return getFiles(paths, owner, repositoryName);
+    }
+
     /**
      * Clones the repository.
      *
@@ -35,6 +72,36 @@ public interface GitMandatories {
      */
     boolean cloneRepo(String owner, String repositoryName, Path repoPath);
 
+    /**
+     * Clones the repository with the given mode. Implementations, that don't support the mode, clone the whole
+     * repository.
+     *
+     * @param owner of the repository
+     * @param repositoryName of the repository
+     * @param repoPath the path to clone the repository to
+     * @param mode how much of the repository is cloned
+     * @param defaultBranch of the repository, null if unknown
+     * @param checkoutFilter selects the files to check out, if the mode doesn't check out all files
+     * @return true if the repository was cloned successfully.
+     */
+    default boolean cloneRepo(String owner, String repositoryName, Path repoPath, CloneMode mode, String defaultBranch,
+                              Predicate<String> checkoutFilter) {
+        return cloneRepo(owner, repositoryName, repoPath);
+    }
+
+    /**
+     * Updates a bare clone to the newest commit of its branch with an incremental fetch.
+     * Implementations, that don't support updates, return false, so the repository is cloned again.
+     *
+     * @param owner of the repository
+     * @param repositoryName of the repository
+     * @param repoPath the path the repository is cloned to
+     * @return true if the clone was updated successfully.
+     */
+    default boolean updateClone(String owner, String repositoryName, Path repoPath) {
+        return false;
+    }
+
     /**
      * Gets general information about the repository.
      *
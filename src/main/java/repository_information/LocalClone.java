@@ -0,0 +1,219 @@
+package repository_information;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.eclipse.jgit.api.CloneCommand;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.errors.LargeObjectException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectLoader;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.transport.CredentialsProvider;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static util.Globals.MAX_TEXT_FILE_SIZE;
+
+/**
+ * Creates and updates clones of repositories. Reads a cloned repository from its git data instead of its working
+ * tree, which may contain only some files or be missing for a bare clone. The repository is closed after each call,
+ * so the clone can be deleted at any time.
+ */
+public final class LocalClone {
+
+    private LocalClone() {
+        throw new UnsupportedOperationException("Utility-class shouldn't be instantiated.");
+    }
+
+    /**
+     * Clones a repository. A shallow or bare clone contains only the last commit of the default branch and checks out
+     * only the files matching the filter.
+     *
+     * @param origin URI of the repository to clone
+     * @param repoPath the path to clone the repository to
+     * @param mode of the clone
+     * @param defaultBranch to clone for a shallow or bare clone, null for the HEAD of the origin
+     * @param checkoutFilter for the files to check out of a shallow clone
+     * @param credentials to authenticate at the origin, null for none
+     * @throws GitAPIException if the repository couldn't be cloned
+     * @throws IOException if the files couldn't be checked out
+     */
+    public static void cloneRepo(URI origin, Path repoPath, CloneMode mode, String defaultBranch,
+                                 Predicate<String> checkoutFilter, CredentialsProvider credentials)
+            throws GitAPIException, IOException {
+        CloneCommand cloneCommand = Git.cloneRepository()
+                .setURI(origin.toString())
+                .setDirectory(repoPath.toFile())
+                .setCredentialsProvider(credentials);
+        if (mode == CloneMode.SHALLOW || mode == CloneMode.BARE) {
+            // Only the last commit of the default branch, without checking out the files.
+            cloneCommand.setDepth(1).setNoTags().setNoCheckout(true).setBare(mode == CloneMode.BARE);
+            if (defaultBranch != null) {
+                String branch = Constants.R_HEADS + defaultBranch;
+                cloneCommand.setBranch(branch).setBranchesToClone(List.of(branch));
+            }
+        }
+
+        try (Git git = cloneCommand.call()) {
+            if (mode == CloneMode.SHALLOW) {
+                List<String> paths = getPaths(git, checkoutFilter);
+                if (!paths.isEmpty()) {
+                    git.checkout().setStartPoint(Constants.HEAD).addPaths(paths).call();
+                }
+            }
+        }
+    }
+
+    /**
+     * Fetches the last commit of the cloned branches from the origin of the clone, so a shallow clone stays shallow.
+     * Branches deleted at the origin are deleted in the clone.
+     *
+     * @param repoPath the path the repository is cloned to
+     * @param credentials to authenticate at the origin, null for none
+     * @throws GitAPIException if the commits couldn't be fetched
+     * @throws IOException if the clone couldn't be opened
+     */
+    public static void updateClone(Path repoPath, CredentialsProvider credentials) throws GitAPIException, IOException {
+        try (Git git = Git.open(repoPath.toFile())) {
+            git.fetch().setDepth(1).setRemoveDeletedRefs(true).setCredentialsProvider(credentials).call();
+        }
+    }
+
+    /**
+     * Gets the structure of the cloned repository at HEAD, in the same format as the tree of the GitHub API:
+     * a list of entries with path and type, "tree" for directories and "blob" for files.
+     *
+     * @param repoPath the path the repository is cloned to
+     * @return the structure, null if the clone couldn't be read
+     */
+    public static JsonNode getStructure(Path repoPath) {
+        ArrayNode structure = JsonNodeFactory.instance.arrayNode();
+        try (Git git = Git.open(repoPath.toFile()); TreeWalk walk = createHeadWalk(git)) {
+            if (walk == null) {
+                return structure;
+            }
+            while (walk.next()) {
+                boolean directory = walk.isSubtree();
+                structure.add(JsonNodeFactory.instance.objectNode()
+                        .put("path", walk.getPathString())
+                        .put("type", directory ? "tree" : "blob"));
+                if (directory) {
+                    walk.enterSubtree();
+                }
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return structure;
+    }
+
+    /**
+     * Reads the content of the files at HEAD from the git objects.
+     *
+     * @param repoPath the path the repository is cloned to
+     * @param paths of the files
+     * @return the path as key mapped to the content of the file, for all found files up to
+     *         {@link util.Globals#MAX_TEXT_FILE_SIZE}
+     */
+    public static Map<String, String> readFiles(Path repoPath, List<String> paths) {
+        Map<String, String> files = new HashMap<>();
+        if (paths.isEmpty()) {
+            return files;
+        }
+        try (Git git = Git.open(repoPath.toFile()); TreeWalk walk = createHeadWalk(git)) {
+            if (walk == null) {
+                return files;
+            }
+            walk.setRecursive(true);
+            walk.setFilter(PathFilterGroup.createFromStrings(paths));
+            ObjectReader reader = walk.getObjectReader();
+            while (walk.next()) {
+                ObjectLoader loader = reader.open(walk.getObjectId(0), Constants.OBJ_BLOB);
+                if (loader.getSize() > MAX_TEXT_FILE_SIZE * 1024L) {
+                    // Too big to be documentation, the file is missing in the result.
+                    continue;
+                }
+                byte[] content;
+                try {
+                    content = loader.getBytes();
+                } catch (LargeObjectException e) {
+                    // Too big to be read into memory, the file is missing in the result.
+                    continue;
+                }
+                files.put(walk.getPathString(), new String(content, StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            // The files are missing in the result.
+        }
+        return files;
+    }
+
+    /**
+     * Gets the commit of HEAD.
+     *
+     * @param repoPath the path the repository is cloned to
+     * @return the sha of the commit, null if the clone couldn't be read or has no commit
+     */
+    public static String getHeadSha(Path repoPath) {
+        try (Git git = Git.open(repoPath.toFile())) {
+            ObjectId head = git.getRepository().resolve(Constants.HEAD);
+            return head == null ? null : head.name();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the paths of all files at HEAD, which match the filter.
+     *
+     * @param git the cloned repository
+     * @param filter for the paths
+     * @return the matching paths
+     * @throws IOException if the repository couldn't be read
+     */
+    public static List<String> getPaths(Git git, Predicate<String> filter) throws IOException {
+        List<String> paths = new ArrayList<>();
+        try (TreeWalk walk = createHeadWalk(git)) {
+            if (walk == null) {
+                return paths;
+            }
+            walk.setRecursive(true);
+            while (walk.next()) {
+                if (filter.test(walk.getPathString())) {
+                    paths.add(walk.getPathString());
+                }
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Creates a walk over the tree of HEAD.
+     *
+     * @param git the cloned repository
+     * @return the walk, null if the repository has no commit
+     * @throws IOException if the repository couldn't be read
+     */
+    private static TreeWalk createHeadWalk(Git git) throws IOException {
+        ObjectId tree = git.getRepository().resolve(Constants.HEAD + "^{tree}");
+        if (tree == null) {
+            return null;
+        }
+        TreeWalk walk = new TreeWalk(git.getRepository());
+        walk.addTree(tree);
+        return walk;
+    }
+}
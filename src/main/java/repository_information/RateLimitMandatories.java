@@ -2,7 +2,7 @@ package repository_information;
 
 import repository_information.GitHub.RateResource;
 
-import java.util.Date;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * To abstract the mandatory functions, a class handling the rate limits of a git repository should have.
@@ -10,7 +10,15 @@ import java.util.Date;
  */
 public interface RateLimitMandatories {
 
-    void setRateLimit(RateResource resource, int maxRequests, int requestsLeft, Date resetTime);
+    /**
+     * Sets the rate limit of a resource, as reported by a response.
+     *
+     * @param resource the rate limit is for
+     * @param maxRequests per window
+     * @param requestsLeft in the current window
+     * @param resetTime of the current window in milliseconds since the epoch
+     */
+    void setRateLimit(RateResource resource, int maxRequests, int requestsLeft, long resetTime);
 
     /**
      * Checks if the rate limit comes to an end.
@@ -20,7 +28,8 @@ public interface RateLimitMandatories {
     boolean checkRateLimit();
 
     /**
-     * Checks if the rate limit becomes scarce for a specific resource.
+     * Checks if the rate limit becomes scarce for a specific resource: only the budget reserved for critical requests
+     * is left, or the requests have to be paced, so the budget lasts till the reset.
      *
      * @param resource the resource to check the rate limit for.
      * @return true, if further requests can be sent safely.
@@ -35,6 +44,34 @@ public interface RateLimitMandatories {
      */
     boolean checkHardRateLimit(RateResource resource);
 
+    /**
+     * Waits till a request to the resource may be sent. Requests are paced, so the budget lasts till the reset.
+     * Critical requests are not paced and may use the reserved budget. They only wait, if no budget is left.
+     *
+     * @param resource the request is counted against
+     * @param critical if the request has a higher priority
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void acquire(RateResource resource, boolean critical) throws InterruptedException;
+
+    /**
+     * Like {@link #acquire(RateResource, boolean)}, but without blocking the calling thread.
+     *
+     * @param resource the request is counted against
+     * @param critical if the request has a higher priority
+     * @return completed, when the request may be sent
+     */
+    CompletableFuture<Void> acquireAsync(RateResource resource, boolean critical);
+
+    /**
+     * Returns the number of requests left for a specific resource, till the rate limit resets.
+     *
+     * @param resource the resource to get the number of requests for.
+     * @return number of requests left, as reported by the last response and counted down by the requests since.
+     *         {@link Integer#MAX_VALUE} as long as no response reported the rate limit.
+     */
+    int getRequestsLeft(RateResource resource);
+
     /**
      * Returns the time till the rate limit resets for a specific resource in milliseconds.
      *
@@ -2,20 +2,57 @@ package repository_information;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import exceptions.CloneProhibitedException;
+import model.TextFile;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static util.Globals.MAX_CACHED_TEXT_BYTES;
+
+/**
+ * Caches the answers of the {@link CloneProxy} for one repository.
+ * The rules of a repository may run concurrently, so the cache is thread-safe. Requests for the content of the
+ * repository share one lock, because they may lead to a clone. The general information and the repositories of the
+ * owner are independent of that and have their own locks.
+ */
 public class RepoCache implements RepoFunctions {
 
 
     private final CloneProxy cloneProxy;
     private JsonNode generalInfo;
 
+    /**
+     * The names of the other repositories of the owner, as requested in {@link RepoCache#getOwnersRepos()}.
+     */
+    private String[] ownersRepos;
+
+    /**
+     * True, if the general information was preloaded and not yet used.
+     */
+    private boolean generalInfoPreloaded = false;
+
+    /**
+     * Number of requests for the general information, which were answered by preloaded information in this run.
+     */
+    private static final AtomicInteger savedGeneralInfoRequests = new AtomicInteger();
+
+    private final Object generalInfoLock = new Object();
+
+    private final Object ownersReposLock = new Object();
+
     public RepoCache(String repositoryName, String owner) {
-        this.cloneProxy = new CloneProxy(repositoryName, owner);
+        this(new CloneProxy(repositoryName, owner));
+    }
+
+    RepoCache(CloneProxy cloneProxy) {
+        this.cloneProxy = cloneProxy;
     }
 
     //Cached information:
@@ -25,12 +62,18 @@ public class RepoCache implements RepoFunctions {
     private JsonNode structure;
 
     /**
-     * The path of the file based on the repository root as key mapped to the content of the file as value.
+     * The path of the file based on the repository root as key mapped to the file as value.
+     * The least recently used files are removed, if their content exceeds {@link util.Globals#MAX_CACHED_TEXT_BYTES}.
      */
-    private final Map<String, String> filesAtPath = new HashMap<>();
+    private final LinkedHashMap<String, TextFile> filesAtPath = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Size of the content of the files in {@link #filesAtPath}.
+     */
+    private long cachedBytes = 0;
 
     @Override
-    public JsonNode getStructure() throws CloneProhibitedException {
+    public synchronized JsonNode getStructure() throws CloneProhibitedException {
         if (structure == null) {
             structure = cloneProxy.getStructure();
         }
@@ -39,47 +82,164 @@ public class RepoCache implements RepoFunctions {
     }
 
     @Override
-    public Map<String, String> getFiles(List<String> paths) throws CloneProhibitedException {
-        ArrayList<String> notCached = new ArrayList<>();
+    public synchronized Map<String, String> getFiles(List<String> paths) throws CloneProhibitedException {
         Map<String, String> results = new HashMap<>();
+        for (TextFile file : getTextFiles(paths)) {
+            results.put(file.getPath(), file.getContent());
+        }
+        return results;
+    }
+
+    /**
+     * Returns the files at the paths. Only the files, which aren't cached, are requested.
+     *
+     * @param paths of the files based on the repository root
+     * @return the found files, files that don't exist are missing
+     * @throws CloneProhibitedException if the request lead to cloning of the repository, where cloning is prohibited
+     */
+    public List<TextFile> getTextFiles(List<String> paths) throws CloneProhibitedException {
+        return getTextFiles(paths, List.of());
+    }
+
+    /**
+     * Returns the files at the paths, as {@link #getTextFiles(List)}. The upcoming files are cached as well, if they
+     * are transferred together with the files anyway, e.g., from the archive of the repository.
+     *
+     * @param paths of the files based on the repository root
+     * @param upcoming paths of files, which will likely be requested next
+     * @return the found files, files that don't exist are missing
+     * @throws CloneProhibitedException if the request lead to cloning of the repository, where cloning is prohibited
+     */
+    public synchronized List<TextFile> getTextFiles(List<String> paths, List<String> upcoming)
+            throws CloneProhibitedException {
+        ArrayList<String> notCached = new ArrayList<>();
+        List<TextFile> results = new ArrayList<>(paths.size());
 
         for (String path : paths) {
-            if (filesAtPath.containsKey(path)) {
-                results.put(path, filesAtPath.get(path));
+            TextFile file = filesAtPath.get(path);
+            if (file != null) {
+                results.add(file);
             } else {
                 notCached.add(path);
             }
         }
-        Map<String, String> requestResults = cloneProxy.getFiles(notCached);
-        filesAtPath.putAll(requestResults);
-        results.putAll(requestResults);
+        if (!notCached.isEmpty()) {
+            List<String> upcomingNotCached = new ArrayList<>();
+            for (String path : upcoming) {
+                if (!filesAtPath.containsKey(path)) {
+                    upcomingNotCached.add(path);
+                }
+            }
+            Set<String> requested = new HashSet<>(notCached);
+            for (Map.Entry<String, String> entry : cloneProxy.getFiles(notCached, upcomingNotCached).entrySet()) {
+                TextFile file = new TextFile(entry.getKey(), entry.getValue());
+                if (requested.contains(file.getPath())) {
+                    results.add(file);
+                    cache(file);
+                } else if (file.getContent() != null) {
+                    cache(file);
+                }
+            }
+        }
 
         return results;
     }
 
+    /**
+     * Adds the file to the cache and removes the least recently used files, if the cache is full.
+     * Files bigger than the whole cache are only returned, not cached.
+     */
+    private void cache(TextFile file) {
+        if (file.getSize() > MAX_CACHED_TEXT_BYTES) {
+            return;
+        }
+        TextFile previous = filesAtPath.put(file.getPath(), file);
+        if (previous != null) {
+            cachedBytes -= previous.getSize();
+        }
+        cachedBytes += file.getSize();
+        Iterator<TextFile> leastRecentlyUsed = filesAtPath.values().iterator();
+        while (cachedBytes > MAX_CACHED_TEXT_BYTES && leastRecentlyUsed.hasNext()) {
+            cachedBytes -= leastRecentlyUsed.next().getSize();
+            leastRecentlyUsed.remove();
+        }
+    }
+
     @Override
-    public boolean changeToClone(String reason) throws CloneProhibitedException {
+    public synchronized boolean changeToClone(String reason) throws CloneProhibitedException {
         return cloneProxy.changeToClone(reason);
     }
 
     @Override
     public JsonNode generalInfo() {
-        if (generalInfo == null) {
-            generalInfo = cloneProxy.generalInfo();
+        synchronized (generalInfoLock) {
+            if (generalInfo == null) {
+                generalInfo = cloneProxy.generalInfo();
+            } else if (generalInfoPreloaded) {
+                generalInfoPreloaded = false;
+                savedGeneralInfoRequests.incrementAndGet();
+            }
+            return generalInfo;
         }
-        return generalInfo;
+    }
+
+    /**
+     * Sets the general information and the repositories of the owner, if they were requested together with other
+     * repositories. Information, that is already cached, is kept.
+     *
+     * @param generalInfo of the repository
+     * @param ownersRepos the names of the other repositories of the owner
+     */
+    public void preloadMetadata(JsonNode generalInfo, String[] ownersRepos) {
+        preloadGeneralInfo(generalInfo);
+        synchronized (ownersReposLock) {
+            if (this.ownersRepos == null) {
+                this.ownersRepos = ownersRepos;
+            }
+        }
+    }
+
+    /**
+     * Sets the general information, if it was already part of another response, e.g., of the search.
+     * Information, that is already cached, is kept.
+     *
+     * @param generalInfo of the repository
+     */
+    public void preloadGeneralInfo(JsonNode generalInfo) {
+        synchronized (generalInfoLock) {
+            if (this.generalInfo == null) {
+                this.generalInfo = generalInfo;
+                generalInfoPreloaded = true;
+                cloneProxy.setGeneralInfo(generalInfo);
+            }
+        }
+    }
+
+    /**
+     * Getter for the number of requests for the general information, which were saved by preloading it.
+     *
+     * @return number of saved requests in this run
+     */
+    public static int getSavedGeneralInfoRequests() {
+        return savedGeneralInfoRequests.get();
     }
 
     @Override
-    public void finish() {
+    public synchronized void finish() {
         structure = null;
         filesAtPath.clear();
+        cachedBytes = 0;
         cloneProxy.finish();
     }
 
     @Override
     public String[] getOwnersRepos() {
-        return cloneProxy.getOwnersRepos();
+        synchronized (ownersReposLock) {
+            if (ownersRepos == null) {
+                ownersRepos = cloneProxy.getOwnersRepos();
+            }
+            return ownersRepos;
+        }
     }
 
 }
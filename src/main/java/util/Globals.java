@@ -1,11 +1,21 @@
 package util;
 
+import repository_information.CloneMode;
+
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
 public class Globals {
     public static Path CLONED_REPOS_PATH = (Paths.get("").toAbsolutePath()).resolve(Paths.get("src/main/resources/cloned_repos"));
+    /**
+     * Caches kept across runs. Outside of src/main/resources, so they aren't copied into the build.
+     */
+    public static Path CACHE_PATH = (Paths.get("").toAbsolutePath()).resolve(Paths.get("src/main/cache"));
+    public static Path CLONE_CACHE_PATH = CACHE_PATH.resolve("clones");
+    public static Path HTTP_CACHE_PATH = CACHE_PATH.resolve("http");
     public static Path OUTPUT_PATH = (Paths.get("").toAbsolutePath()).resolve(Paths.get("src/main/output"));
+    public static Path RESULT_STORE_PATH = OUTPUT_PATH.resolve("results.jsonl");
+    public static Path CHECKPOINT_PATH = OUTPUT_PATH.resolve("checkpoint.jsonl");
 
     /**
      * If the repository has more than this number of elements, it will be cloned.
@@ -13,10 +23,22 @@ public class Globals {
     public static int CLONE_THRESHOLD = 2500;
 
     /**
-     * If the request limit is at the specified fraction * maximal requests,
-     * the program will try to switch to cloning repositories.
+     * Fraction of the maximal requests of a rate limit, which is reserved for critical requests.
+     * If only the reserve is left, the program will try to switch to cloning repositories.
+     */
+    public static double RATE_LIMIT_RESERVE = 0.05;
+
+    /**
+     * Maximal number of requests sent at once to a rate limited resource. Further requests are paced, so the
+     * budget lasts till the rate limit resets.
      */
-    public static double RATE_LIMIT_THRESHOLD = 0.85;
+    public static int RATE_LIMIT_BURST = 20;
+
+    /**
+     * Time in milliseconds a request may wait for its turn of the pacing. If it had to wait longer, the program
+     * will try to switch to cloning repositories.
+     */
+    public static int MAX_PACING_WAIT = 2000;
 
     /**
      * The maximal size of a repository to still be cloned.
@@ -25,9 +47,138 @@ public class Globals {
     public static int MAX_CLONE_SIZE = 300000;
 
     /**
-     * The maximal number of files to be requested at once. If more files are requested, the repository will be cloned.
+     * How much of a repository is cloned.
+     */
+    public static CloneMode CLONE_MODE = CloneMode.BARE;
+
+    /**
+     * The maximal size of a repository to still be cloned with {@link CloneMode#SHALLOW} or {@link CloneMode#BARE}.
+     * Higher than {@link #MAX_CLONE_SIZE}, because the size includes the history and all files, which aren't
+     * transferred or written.
+     * Unit: KB
+     */
+    public static int MAX_SHALLOW_CLONE_SIZE = 2000000;
+
+    /**
+     * The maximal size of all clones kept in the {@link repository_information.CloneCache} across runs.
+     * Only used with {@link CloneMode#BARE}.
+     * Unit: KB
+     */
+    public static int MAX_CLONE_CACHE_SIZE = 5000000;
+
+    /**
+     * The maximal number of files to be requested one by one. If more files are requested, they are requested in
+     * batches or from the archive of the repository, see {@link repository_information.FileFetchStrategy}.
      */
     public static int MAX_NUMBER_OF_FILES = 35;
 
+    /**
+     * Number of files requested with one GraphQL request.
+     */
+    public static int GRAPHQL_BLOB_BATCH_SIZE = 50;
+
+    /**
+     * Number of text files fetched at once, when a rule reads the text files one batch after the other.
+     * The rule can stop after each batch, without fetching the remaining files.
+     */
+    public static int TEXT_FILE_BATCH_SIZE = 50;
+
+    /**
+     * The maximal size of a repository to still download its archive, instead of cloning it.
+     * Unit: KB
+     */
+    public static int MAX_TARBALL_SIZE = 50000;
+
+    /**
+     * The maximal size of a single file read from a clone. Bigger files are skipped, they are hardly documentation.
+     * Unit: KB
+     */
+    public static int MAX_TEXT_FILE_SIZE = 10000;
+
+    /**
+     * The maximal number of requests sent to one host at the same time, when several files are requested at once.
+     */
+    public static int MAX_REQUESTS_PER_HOST = 8;
+
+    /**
+     * Time in seconds, after which the request of a single file is aborted.
+     */
+    public static int FILE_REQUEST_TIMEOUT = 30;
+
+    /**
+     * The maximal size of the responses of the GitHub REST API kept across runs.
+     * Unit: KB
+     */
+    public static int MAX_HTTP_CACHE_SIZE = 500000;
+
+    /**
+     * The maximal size of the text files of one repository kept in memory for the rules. The least recently used
+     * files are removed first and read again, if a rule needs them.
+     * Unit: bytes
+     */
+    public static long MAX_CACHED_TEXT_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * Time in hours, after which a cached response is deleted, if it wasn't validated by a request since.
+     */
+    public static int HTTP_CACHE_TIME_TO_LIVE = 7 * 24;
+
     public static int DEFAULT_NUMBER_OF_STAR = 100;
+
+    /**
+     * Number of repositories requested per search request. GitHub allows at most 100.
+     */
+    public static int SEARCH_PAGE_SIZE = 100;
+
+    /**
+     * Number of repositories whose metadata is requested with one GraphQL request.
+     */
+    public static int METADATA_BATCH_SIZE = 50;
+
+    /**
+     * Minimal number of unprocessed repositories the discovery keeps ready for the workers.
+     */
+    public static int MIN_LOOK_AHEAD = 5;
+
+    /**
+     * Maximal number of unprocessed repositories the discovery keeps ready for the workers.
+     * The actual look-ahead depends on how fast the repositories are processed and the remaining search rate limit.
+     */
+    public static int MAX_LOOK_AHEAD = 200;
+
+    /**
+     * The number of points the mandatory rules have to give a repository, so the quality rules are applied.
+     * The evaluation of a repository stops early, if it can't reach these points anymore.
+     */
+    public static int MIN_MANDATORY_POINTS = 1;
+
+    /**
+     * If true, the results of the last runs are reused for rules, whose input didn't change since, see
+     * {@link util.ResultStore}. Set to false to execute all rules again.
+     */
+    public static boolean REUSE_RESULTS = true;
+
+    /**
+     * The maximal number of repositories analyzed at the same time.
+     * Only limits the {@link controller.ExecutionMode#VIRTUAL_THREADS} mode,
+     * the platform pool is already limited by the number of processors.
+     */
+    public static int MAX_REPOS_IN_FLIGHT = 32;
+
+    /**
+     * Capacity of the queues between the stages of the {@link controller.ExecutionMode#PIPELINE}.
+     * A full queue blocks the stage before, down to the discovery of new repositories.
+     */
+    public static int PIPELINE_QUEUE_CAPACITY = 8;
+
+    /**
+     * Number of workers of each pipeline stage, which mostly waits on the GitHub API or on cloning.
+     */
+    public static int PIPELINE_NETWORK_WORKERS = 16;
+
+    /**
+     * Number of workers of the pipeline stage applying the rules.
+     * Higher than the number of processors, because some rules still wait on external services, e.g., the LLM.
+     */
+    public static int PIPELINE_EVALUATION_WORKERS = 2 * Runtime.getRuntime().availableProcessors();
 }
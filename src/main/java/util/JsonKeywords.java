@@ -2,6 +2,7 @@ package util;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -41,6 +42,17 @@ public final class JsonKeywords {
         return allKeywords.toArray(new String[0]);
     }
 
+    /**
+     * Reads the JSON file with the keywords.
+     *
+     * @return the keywords by their group, in the order of the file
+     */
+    public static Map<String, List<String>> getGroupedKeywords() {
+
+        checkJson();
+        return Collections.unmodifiableMap(list);
+    }
+
     /**
      * Get specific keywords from the JSON file.
      *
@@ -3,11 +3,15 @@ package util;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import model.Repository;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -16,7 +20,10 @@ import java.util.Map;
  */
 public final class JsonUtil {
 
-    private static final String JSON_FILE_PATH = "src/main/resources/keywords.json";
+    /**
+     * The keywords on the classpath, so they are found independent of the working directory.
+     */
+    private static final String KEYWORDS_RESOURCE = "/keywords.json";
 
     private JsonUtil() {
         throw new UnsupportedOperationException("Utility-class shouldn't be instantiated.");
@@ -45,21 +52,92 @@ public final class JsonUtil {
         return repositories;
     }
 
+    /**
+     * Parses the search response of the GitHub REST API and returns a list of repositories.
+     * Each item of the response contains the general information of the repository, which is kept in the repository.
+     *
+     * @param rootNode the root node of the JSON response
+     * @return a list of repositories
+     */
     public static List<Repository> parseRestRepositories(JsonNode rootNode) {
         JsonNode items = rootNode.get("items");
         List<Repository> repositories = new ArrayList<>();
         for (JsonNode item : items) {
             String name = item.get("name").asText();
             String owner = item.get("owner").get("login").asText();
-            repositories.add(new Repository(name, owner));
+            repositories.add(new Repository(name, owner, item));
         }
         return repositories;
     }
 
+    /**
+     * Assigns the repository nodes of a batched GitHub GraphQL response to the repositories. The repository at index i
+     * is queried with the alias r{i}. Repositories, whose alias is missing or null, e.g., because they don't exist
+     * anymore, are left out.
+     *
+     * @param rootNode the root node of the JSON response
+     * @param repositories in the order of their aliases
+     * @return the repository node by repository
+     */
+    public static Map<Repository, JsonNode> parseGraphQLMetadata(JsonNode rootNode, List<Repository> repositories) {
+        JsonNode data = rootNode.path("data");
+        Map<Repository, JsonNode> metadata = new HashMap<>();
+        for (int i = 0; i < repositories.size(); i++) {
+            JsonNode node = data.path("r" + i);
+            if (node.isObject()) {
+                metadata.put(repositories.get(i), node);
+            }
+        }
+        return metadata;
+    }
+
+    /**
+     * Converts a repository node of the GitHub GraphQL API to the general information, as the REST API returns it.
+     * Only the fields this program reads are set: stargazers_count, size, pushed_at and default_branch.
+     *
+     * @param repositoryNode with the fields stargazerCount, diskUsage, pushedAt and defaultBranchRef
+     * @return the general information
+     */
+    public static JsonNode parseGraphQLGeneralInfo(JsonNode repositoryNode) {
+        ObjectNode generalInfo = JsonNodeFactory.instance.objectNode();
+        generalInfo.put("stargazers_count", repositoryNode.path("stargazerCount").asInt());
+        generalInfo.put("size", repositoryNode.path("diskUsage").asInt());
+        JsonNode pushedAt = repositoryNode.path("pushedAt");
+        if (pushedAt.isTextual()) {
+            generalInfo.put("pushed_at", pushedAt.asText());
+        }
+        JsonNode defaultBranch = repositoryNode.path("defaultBranchRef").path("name");
+        if (defaultBranch.isTextual()) {
+            generalInfo.put("default_branch", defaultBranch.asText());
+        }
+        return generalInfo;
+    }
+
+    /**
+     * Gets the names of the other repositories of the owner from a repository node of the GitHub GraphQL API.
+     * Only organizations list their repositories, so the result is empty for users.
+     *
+     * @param repositoryNode with the field owner.repositories.nodes
+     * @return the names of the repositories
+     */
+    public static String[] parseGraphQLOwnersRepositories(JsonNode repositoryNode) {
+        JsonNode nodes = repositoryNode.path("owner").path("repositories").path("nodes");
+        String[] names = new String[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            names[i] = nodes.get(i).get("name").asText();
+        }
+        return names;
+    }
+
     public static Map<String, List<String>> getGroupedKeywords() throws IOException {
         ObjectMapper objectMapper = new ObjectMapper();
 
-        return objectMapper.readValue(new File(JSON_FILE_PATH), new TypeReference<>() {});
+        try (InputStream keywords = JsonUtil.class.getResourceAsStream(KEYWORDS_RESOURCE)) {
+            if (keywords == null) {
+                throw new IOException(KEYWORDS_RESOURCE + " isn't on the classpath.");
+            }
+            return objectMapper.readValue(keywords, new TypeReference<LinkedHashMap<String, List<String>>>() {});
+        }
     }
 
 }
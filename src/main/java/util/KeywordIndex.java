@@ -0,0 +1,81 @@
+package util;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled matchers for the keywords of the JSON file, shared by all rules.
+ * One matcher per group and one for all groups are compiled once, when the index is first used.
+ */
+public final class KeywordIndex {
+
+    /**
+     * Holds the index, compiled on first use without locking.
+     */
+    private static final class Holder {
+        private static final KeywordIndex INSTANCE = new KeywordIndex(JsonKeywords.getGroupedKeywords());
+    }
+
+    private final Map<String, List<String>> groupedKeywords;
+
+    private final KeywordMatcher allGroups;
+
+    private final Map<String, KeywordMatcher> groups = new LinkedHashMap<>();
+
+    /**
+     * Matchers for several groups together, compiled when first requested.
+     */
+    private final Map<List<String>, KeywordMatcher> combinedGroups = new ConcurrentHashMap<>();
+
+    private KeywordIndex(Map<String, List<String>> groupedKeywords) {
+        this.groupedKeywords = groupedKeywords;
+        this.allGroups = new KeywordMatcher(groupedKeywords);
+        for (Map.Entry<String, List<String>> group : groupedKeywords.entrySet()) {
+            groups.put(group.getKey(), new KeywordMatcher(Map.of(group.getKey(), group.getValue())));
+        }
+    }
+
+    /**
+     * Compiles the index, if not done before. Called at startup, so the rules don't compile it.
+     */
+    public static void load() {
+        getAll();
+    }
+
+    /**
+     * Getter for the matcher of all keywords.
+     *
+     * @return matcher of all groups, in the order of the file
+     */
+    public static KeywordMatcher getAll() {
+        return Holder.INSTANCE.allGroups;
+    }
+
+    /**
+     * Getter for the matcher of one or several groups of keywords.
+     *
+     * @param groupNames names of the groups, as in the JSON file
+     * @return matcher of the groups, in the given order
+     * @throws IllegalArgumentException if a group doesn't exist
+     */
+    public static KeywordMatcher get(String... groupNames) {
+        KeywordIndex index = Holder.INSTANCE;
+        for (String groupName : groupNames) {
+            if (!index.groups.containsKey(groupName)) {
+                throw new IllegalArgumentException("No keywords of the group " + groupName + " in the JSON file.");
+            }
+        }
+        if (groupNames.length == 1) {
+            return index.groups.get(groupNames[0]);
+        }
+        return index.combinedGroups.computeIfAbsent(List.of(groupNames), names -> {
+            Map<String, List<String>> selected = new LinkedHashMap<>();
+            for (String name : names) {
+                selected.put(name, index.groupedKeywords.get(name));
+            }
+            return new KeywordMatcher(selected);
+        });
+    }
+}
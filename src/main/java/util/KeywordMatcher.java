@@ -0,0 +1,296 @@
+package util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Finds all occurrences of many keywords in one pass over a text (Aho–Corasick automaton).
+ * The search is case-insensitive for ASCII letters, like {@link java.util.regex.Pattern#CASE_INSENSITIVE}.
+ * Each keyword entry has an index in the order of the groups and the keywords in them. Entries, which occur more
+ * than once, keep all their indices, so they are counted as often as they are listed.
+ * Immutable after construction, so it can be shared between threads.
+ */
+public final class KeywordMatcher {
+
+    /**
+     * Receives the occurrences found by {@link #scan(CharSequence, Listener)}.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * Called for each occurrence of a keyword, in the order of the end of the occurrences.
+         *
+         * @param keyword index of the keyword
+         * @param end index after the last character of the occurrence in the text
+         * @return true to continue the scan, false to stop it
+         */
+        boolean match(int keyword, int end);
+    }
+
+    private static final int[] NO_KEYWORDS = new int[0];
+
+    private final String[] keywords;
+
+    /**
+     * Index of the group of each keyword.
+     */
+    private final int[] keywordGroups;
+
+    private final List<String> groups;
+
+    /**
+     * Maps each character to its column in {@link #transitions}. Characters, which don't occur in any keyword,
+     * and characters beyond the array are in column 0.
+     */
+    private final int[] columns;
+
+    private final int numberOfColumns;
+
+    /**
+     * Next state for each state and column, states are the rows.
+     */
+    private final int[] transitions;
+
+    /**
+     * Indices of the keywords ending in each state, including those ending in its suffixes.
+     */
+    private final int[][] outputs;
+
+    /**
+     * Creates a matcher for keywords without groups. They are in one group with the empty name.
+     *
+     * @param keywords to search for, empty keywords are never found
+     */
+    public KeywordMatcher(List<String> keywords) {
+        this(Collections.singletonMap("", keywords));
+    }
+
+    /**
+     * Creates a matcher for groups of keywords.
+     *
+     * @param groupedKeywords keywords by their group, empty keywords are never found
+     */
+    public KeywordMatcher(Map<String, List<String>> groupedKeywords) {
+        Map<String, List<String>> ordered = new LinkedHashMap<>(groupedKeywords);
+        this.groups = List.copyOf(ordered.keySet());
+
+        List<String> allKeywords = new ArrayList<>();
+        List<Integer> allGroups = new ArrayList<>();
+        int group = 0;
+        for (List<String> keywordsOfGroup : ordered.values()) {
+            for (String keyword : keywordsOfGroup) {
+                allKeywords.add(keyword == null ? "" : keyword);
+                allGroups.add(group);
+            }
+            group++;
+        }
+        this.keywords = allKeywords.toArray(new String[0]);
+        this.keywordGroups = allGroups.stream().mapToInt(Integer::intValue).toArray();
+
+        // Only characters of the keywords get their own column, all others lead back to the start.
+        int maxChar = 0;
+        for (String keyword : keywords) {
+            for (int i = 0; i < keyword.length(); i++) {
+                maxChar = Math.max(maxChar, fold(keyword.charAt(i)));
+            }
+        }
+        this.columns = new int[maxChar + 1];
+        int nextColumn = 1;
+        for (String keyword : keywords) {
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = fold(keyword.charAt(i));
+                if (columns[c] == 0) {
+                    columns[c] = nextColumn++;
+                }
+            }
+        }
+        this.numberOfColumns = nextColumn;
+
+        // Trie of the keywords, -1 marks a missing edge.
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        trie.add(newRow());
+        ends.add(new ArrayList<>());
+        for (int keyword = 0; keyword < keywords.length; keyword++) {
+            String text = keywords[keyword];
+            if (text.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < text.length(); i++) {
+                int column = columns[fold(text.charAt(i))];
+                if (trie.get(state)[column] < 0) {
+                    trie.get(state)[column] = trie.size();
+                    trie.add(newRow());
+                    ends.add(new ArrayList<>());
+                }
+                state = trie.get(state)[column];
+            }
+            ends.get(state).add(keyword);
+        }
+
+        // Breadth-first, so the failure state of each state is complete before it is used.
+        int numberOfStates = trie.size();
+        this.transitions = new int[numberOfStates * numberOfColumns];
+        this.outputs = new int[numberOfStates][];
+        int[] failures = new int[numberOfStates];
+        Queue<Integer> queue = new ArrayDeque<>();
+        outputs[0] = NO_KEYWORDS;
+        for (int column = 0; column < numberOfColumns; column++) {
+            int next = trie.get(0)[column];
+            if (next < 0) {
+                transitions[column] = 0;
+            } else {
+                transitions[column] = next;
+                failures[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int failure = failures[state];
+            outputs[state] = merge(ends.get(state), outputs[failure]);
+            for (int column = 0; column < numberOfColumns; column++) {
+                int next = trie.get(state)[column];
+                if (next < 0) {
+                    transitions[state * numberOfColumns + column] = transitions[failure * numberOfColumns + column];
+                } else {
+                    transitions[state * numberOfColumns + column] = next;
+                    failures[next] = transitions[failure * numberOfColumns + column];
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    /**
+     * Getter for the number of keyword entries, including empty and repeated ones.
+     *
+     * @return number of keywords
+     */
+    public int size() {
+        return keywords.length;
+    }
+
+    /**
+     * Getter for a keyword.
+     *
+     * @param keyword index of the keyword
+     * @return the keyword as given
+     */
+    public String getKeyword(int keyword) {
+        return keywords[keyword];
+    }
+
+    /**
+     * Getter for the names of the groups, in the order of their indices.
+     *
+     * @return names of the groups
+     */
+    public List<String> getGroups() {
+        return groups;
+    }
+
+    /**
+     * Getter for the group of a keyword.
+     *
+     * @param keyword index of the keyword
+     * @return index of the group of the keyword
+     */
+    public int getGroup(int keyword) {
+        return keywordGroups[keyword];
+    }
+
+    /**
+     * Passes every occurrence of every keyword to the listener, in one pass over the text.
+     *
+     * @param text to search in
+     * @param listener receives the occurrences, can stop the scan
+     */
+    public void scan(CharSequence text, Listener listener) {
+        int state = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = fold(text.charAt(i));
+            int column = c < columns.length ? columns[c] : 0;
+            state = transitions[state * numberOfColumns + column];
+            for (int keyword : outputs[state]) {
+                if (!listener.match(keyword, i + 1)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the keywords, which occur at least once in the text.
+     *
+     * @param text to search in
+     * @return the indices of the found keywords
+     */
+    public BitSet find(CharSequence text) {
+        BitSet found = new BitSet(keywords.length);
+        scan(text, (keyword, end) -> {
+            found.set(keyword);
+            return true;
+        });
+        return found;
+    }
+
+    /**
+     * Counts the keywords of each group, which occur at least once in the text.
+     *
+     * @param text to search in
+     * @return number of found keywords by the index of their group
+     */
+    public int[] countPerGroup(CharSequence text) {
+        return countPerGroup(find(text));
+    }
+
+    /**
+     * Counts the found keywords of each group.
+     *
+     * @param found indices of the found keywords, as returned by {@link #find(CharSequence)}
+     * @return number of found keywords by the index of their group
+     */
+    public int[] countPerGroup(BitSet found) {
+        int[] counts = new int[groups.size()];
+        for (int keyword = found.nextSetBit(0); keyword >= 0; keyword = found.nextSetBit(keyword + 1)) {
+            counts[keywordGroups[keyword]]++;
+        }
+        return counts;
+    }
+
+    private int[] newRow() {
+        int[] row = new int[numberOfColumns];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static int[] merge(List<Integer> ends, int[] inherited) {
+        if (ends.isEmpty()) {
+            return inherited;
+        }
+        int[] merged = new int[ends.size() + inherited.length];
+        for (int i = 0; i < ends.size(); i++) {
+            merged[i] = ends.get(i);
+        }
+        System.arraycopy(inherited, 0, merged, ends.size(), inherited.length);
+        return merged;
+    }
+
+    /**
+     * Folds ASCII upper case letters to lower case. Other characters are matched as they are.
+     */
+    private static char fold(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+}
@@ -0,0 +1,223 @@
+package util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import controller.Rule;
+import controller.RuleInput;
+import model.Repository;
+import model.RepositoryAspectEval;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the results of the rules across runs, together with the version of the input each rule read.
+ * A rule, whose input didn't change since the last run, doesn't have to be executed again.
+ * The results are appended to a file with one evaluation per line, the last evaluation of a repository counts.
+ */
+public final class ResultStore {
+
+    /**
+     * The result of a single rule.
+     *
+     * @param version of the input of the rule, see {@link #getVersion(Repository, RuleInput)}
+     * @param points the rule gave, if it was applicable
+     * @param failureMessage of the rule, null if it was applicable
+     */
+    record StoredResult(String version, int points, String failureMessage) {
+
+        RepositoryAspectEval toEval() {
+            return failureMessage == null ? new RepositoryAspectEval(points) : new RepositoryAspectEval(failureMessage);
+        }
+    }
+
+    /**
+     * The results of all executed rules of a repository.
+     *
+     * @param owner of the repository
+     * @param name of the repository
+     * @param results maps the name of the rule to its result
+     */
+    record Evaluation(String owner, String name, Map<String, StoredResult> results) {
+    }
+
+    /**
+     * Failures, which only depend on the content of the repository. Other failures, e.g., of the LLM or the network,
+     * may not occur in the next run, so these rules are executed again.
+     */
+    private static final Set<String> DETERMINISTIC_FAILURES =
+            Set.of("No readme found", "No links found in readme", "No files found.");
+
+    private final Path path;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Maps the key of each repository to its last evaluation.
+     */
+    private final Map<String, Evaluation> evaluations = new ConcurrentHashMap<>();
+
+    /**
+     * Results of the running evaluations, added with {@link #putResult}. Moved to {@link #evaluations} on save.
+     */
+    private final Map<String, Map<String, StoredResult>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Reads the evaluations of the previous runs.
+     * If the file contains outdated evaluations, it is rewritten with the last evaluation of each repository.
+     *
+     * @param path of the file
+     */
+    public ResultStore(Path path) {
+        this.path = path;
+        if (!Files.isRegularFile(path)) {
+            return;
+        }
+
+        int lines = 0;
+        try {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                lines++;
+                try {
+                    Evaluation evaluation = objectMapper.readValue(line, Evaluation.class);
+                    evaluations.put(key(evaluation.owner(), evaluation.name()), evaluation);
+                } catch (JsonProcessingException e) {
+                    // Only the last line can be incomplete, if the last run was aborted.
+                }
+            }
+        } catch (IOException e) {
+            CLIOutput.warning("Couldn't read the results of the last run at " + path + ". All rules are executed.");
+            return;
+        }
+        if (lines > evaluations.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Returns the version of the information a rule reads, to detect changes since the last run.
+     * The files are versioned by the time of the last push, which is part of the general information, so checking
+     * them needs no request. The other repositories of the owner have no version, so rules reading them are
+     * always executed. They are requested together with the general information anyway.
+     *
+     * @param repository to get the version of
+     * @param input the rule reads
+     * @return the version, null if unknown
+     */
+    public static String getVersion(Repository repository, RuleInput input) {
+        if (input == RuleInput.OWNER) {
+            return null;
+        }
+        JsonNode generalInfo = repository.generalInfo();
+        if (generalInfo == null) {
+            return null;
+        }
+        JsonNode version = switch (input) {
+            case CONTENT -> generalInfo.get("pushed_at");
+            case METADATA -> generalInfo.get("stargazers_count");
+            default -> null;
+        };
+        return version == null || version.isNull() ? null : version.asText();
+    }
+
+    /**
+     * Returns the result of the last run, if the rule read the same version of its input.
+     *
+     * @param repository the rule is working on
+     * @param rule to get the result of
+     * @param version of the input of the rule, null if unknown
+     * @return the stored result, null if the rule has to be executed
+     */
+    public RepositoryAspectEval getResult(Repository repository, Rule rule, String version) {
+        if (version == null) {
+            return null;
+        }
+        Evaluation evaluation = evaluations.get(key(repository.getOwner(), repository.getRepositoryName()));
+        if (evaluation == null) {
+            return null;
+        }
+        StoredResult result = evaluation.results().get(rule.getClass().getSimpleName());
+        if (result == null || !version.equals(result.version())) {
+            return null;
+        }
+        return result.toEval();
+    }
+
+    /**
+     * Adds the result of a rule to the evaluation of the repository, which is written with {@link #save(Repository)}.
+     * Only results given by the rule itself may be added, not the results of skipped rules.
+     * Failed results are only kept, if they are one of the {@link #DETERMINISTIC_FAILURES}.
+     *
+     * @param repository the rule is working on
+     * @param rule that gave the result
+     * @param version of the input of the rule, null if unknown
+     * @param result of the rule
+     */
+    public void putResult(Repository repository, Rule rule, String version, RepositoryAspectEval result) {
+        if (version == null || !result.isApplicable() && !DETERMINISTIC_FAILURES.contains(result.getFailureMessage())) {
+            return;
+        }
+        pending.computeIfAbsent(key(repository.getOwner(), repository.getRepositoryName()), k -> new ConcurrentHashMap<>())
+                .put(rule.getClass().getSimpleName(), new StoredResult(version,
+                        result.isApplicable() ? result.getPoints() : 0,
+                        result.isApplicable() ? null : result.getFailureMessage()));
+    }
+
+    /**
+     * Appends the results added for the repository to the file.
+     *
+     * @param repository to save the evaluation of
+     */
+    public void save(Repository repository) {
+        String key = key(repository.getOwner(), repository.getRepositoryName());
+        Map<String, StoredResult> results = pending.remove(key);
+        if (results == null) {
+            return;
+        }
+        Evaluation evaluation = new Evaluation(repository.getOwner(), repository.getRepositoryName(), Map.copyOf(results));
+        evaluations.put(key, evaluation);
+        try {
+            String line = objectMapper.writeValueAsString(evaluation) + System.lineSeparator();
+            synchronized (this) {
+                Files.createDirectories(path.getParent());
+                Files.writeString(path, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        } catch (IOException e) {
+            CLIOutput.warning("Couldn't save the results of " + repository.getIdentifier() + " for the next run.");
+        }
+    }
+
+    /**
+     * Rewrites the file with only the last evaluation of each repository.
+     */
+    private synchronized void compact() {
+        List<String> lines = new ArrayList<>(evaluations.size());
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            for (Evaluation evaluation : evaluations.values()) {
+                lines.add(objectMapper.writeValueAsString(evaluation));
+            }
+            Files.write(tmp, lines, StandardCharsets.UTF_8);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            CLIOutput.warning("Couldn't compact the results of the last runs at " + path + ".");
+        }
+    }
+
+    private static String key(String owner, String name) {
+        return owner + "/" + name;
+    }
+}
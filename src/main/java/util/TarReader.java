@@ -0,0 +1,130 @@
+package util;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static util.Globals.MAX_TEXT_FILE_SIZE;
+
+/**
+ * Reads files from a gzip compressed tar archive, as GitHub returns it for a repository.
+ * Supports the ustar format and the long paths of the GNU and pax extensions.
+ */
+public final class TarReader {
+
+    private static final int BLOCK_SIZE = 512;
+
+    private TarReader() {
+        throw new UnsupportedOperationException("Utility-class shouldn't be instantiated.");
+    }
+
+    /**
+     * Reads the given files from the archive. GitHub puts all files into a single top level folder, which isn't part
+     * of the paths. Stops reading, when all files are found.
+     *
+     * @param gzipArchive the compressed archive
+     * @param paths of the files to read, relative to the top level folder
+     * @return the path as key mapped to the content of the file, for all found files up to
+     *         {@link Globals#MAX_TEXT_FILE_SIZE}
+     * @throws IOException if the archive couldn't be read
+     */
+    public static Map<String, String> readFiles(InputStream gzipArchive, Set<String> paths) throws IOException {
+        Map<String, String> files = new HashMap<>();
+
+        try (InputStream in = new BufferedInputStream(new GZIPInputStream(gzipArchive))) {
+            byte[] header = new byte[BLOCK_SIZE];
+            String extendedPath = null;
+            int handled = 0;
+
+            while (handled < paths.size() && in.readNBytes(header, 0, BLOCK_SIZE) == BLOCK_SIZE) {
+                if (header[0] == 0) {
+                    // An empty block marks the end of the archive.
+                    break;
+                }
+                long size = parseOctal(header, 124, 12);
+                long padding = (BLOCK_SIZE - size % BLOCK_SIZE) % BLOCK_SIZE;
+                char type = (char) header[156];
+
+                if (type == 'L' || type == 'x') {
+                    // The header describes the path of the next entry.
+                    byte[] data = in.readNBytes((int) size);
+                    in.skipNBytes(padding);
+                    extendedPath = type == 'L' ? readString(data, 0, data.length) : parsePaxPath(data);
+                    continue;
+                }
+
+                String path = removeTopLevelFolder(extendedPath != null ? extendedPath : readPath(header));
+                extendedPath = null;
+                if ((type == '0' || type == 0) && paths.contains(path)) {
+                    handled++;
+                    if (size > MAX_TEXT_FILE_SIZE * 1024L) {
+                        // Too big to be documentation, the file is missing in the result.
+                        in.skipNBytes(size + padding);
+                        continue;
+                    }
+                    files.put(path, new String(in.readNBytes((int) size), StandardCharsets.UTF_8));
+                    in.skipNBytes(padding);
+                } else {
+                    in.skipNBytes(size + padding);
+                }
+            }
+        }
+        return files;
+    }
+
+    private static String readPath(byte[] header) {
+        String name = readString(header, 0, 100);
+        // The ustar format splits long paths into a prefix and the name.
+        if (readString(header, 257, 5).equals("ustar")) {
+            String prefix = readString(header, 345, 155);
+            if (!prefix.isEmpty()) {
+                return prefix + "/" + name;
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Gets the path from the records of a pax header. Each record has the format "length key=value\n".
+     *
+     * @param data of the pax header
+     * @return the path, null if the records contain no path
+     */
+    private static String parsePaxPath(byte[] data) {
+        for (String record : new String(data, StandardCharsets.UTF_8).split("\n")) {
+            int keyStart = record.indexOf(' ') + 1;
+            if (record.startsWith("path=", keyStart)) {
+                return record.substring(keyStart + "path=".length());
+            }
+        }
+        return null;
+    }
+
+    private static String removeTopLevelFolder(String path) {
+        int separator = path.indexOf('/');
+        return separator < 0 ? "" : path.substring(separator + 1);
+    }
+
+    private static String readString(byte[] data, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && data[end] != 0) {
+            end++;
+        }
+        return new String(data, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private static long parseOctal(byte[] data, int offset, int length) {
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            if (data[i] >= '0' && data[i] <= '7') {
+                value = value * 8 + (data[i] - '0');
+            }
+        }
+        return value;
+    }
+}
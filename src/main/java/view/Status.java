@@ -71,9 +71,10 @@ public class Status {
     public void updateStatusBar(Repository repo, String ruleName) {
         JLabel label = statusBars.get(repo);
         if (label != null) {
-            progress.replace(repo, progress.get(repo) + 1);
+            // The rules of a repository may update the bar concurrently.
+            int filled = progress.merge(repo, 1, Integer::sum);
 
-            label.setText(getProgressString(progress.get(repo)) + " " + ruleName + ": " + repo.getRepositoryName() + ", " + repo.getOwner());
+            label.setText(getProgressString(filled) + " " + ruleName + ": " + repo.getRepositoryName() + ", " + repo.getOwner());
         }
         else {
             CLIOutput.info("No status bar found for " + repo.getRepositoryName());
@@ -0,0 +1,76 @@
+package controller;
+
+import model.Repository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import repository_information.GitHub.SearchCursor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CheckpointJournalTest {
+
+    private static final SearchCursor.State CURSOR =
+            new SearchCursor.State("arc42", 100, 100, List.of("2020-01-01..2020-12-31"), 3);
+
+    @Test
+    void testResumesOpenRepositoriesStartedFirst(@TempDir Path tempDir) throws IOException {
+        Path path = tempDir.resolve("checkpoint.jsonl");
+        Repository first = new Repository("first", "owner");
+        Repository second = new Repository("second", "owner");
+        Repository third = new Repository("third", "owner");
+
+        CheckpointJournal journal = new CheckpointJournal(path);
+        journal.start("arc42", 100, 10, null, List.of());
+        journal.queued(List.of(first, second, third), CURSOR);
+        journal.started(first);
+        journal.started(third);
+        journal.finished(first);
+        // A killed run can leave an incomplete last line.
+        Files.writeString(path, "{\"started\":", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        CheckpointJournal.Checkpoint checkpoint = new CheckpointJournal(path).load("arc42", 100);
+
+        assertNotNull(checkpoint);
+        assertEquals(10, checkpoint.number());
+        assertEquals(1, checkpoint.finished());
+        assertEquals(CURSOR, checkpoint.cursor());
+        assertEquals(List.of(new CheckpointJournal.QueuedRepo("owner", "third"),
+                new CheckpointJournal.QueuedRepo("owner", "second")), checkpoint.pending());
+    }
+
+    @Test
+    void testIgnoresCheckpointOfOtherSearch(@TempDir Path tempDir) {
+        Path path = tempDir.resolve("checkpoint.jsonl");
+        new CheckpointJournal(path).start("arc42", 100, 10, CURSOR, List.of());
+
+        assertNull(new CheckpointJournal(path).load("arc42", 50));
+        assertNull(new CheckpointJournal(path).load(null, 100));
+    }
+
+    @Test
+    void testRestartKeepsOpenRepositoriesAndDeleteRemovesJournal(@TempDir Path tempDir) {
+        Path path = tempDir.resolve("checkpoint.jsonl");
+        List<CheckpointJournal.QueuedRepo> pending = List.of(new CheckpointJournal.QueuedRepo("owner", "second"));
+
+        CheckpointJournal journal = new CheckpointJournal(path);
+        journal.start(null, -1, 5, CURSOR, pending);
+
+        CheckpointJournal.Checkpoint checkpoint = new CheckpointJournal(path).load(null, -1);
+        assertNotNull(checkpoint);
+        assertEquals(pending, checkpoint.pending());
+        assertEquals(0, checkpoint.finished());
+
+        journal.delete();
+        assertFalse(Files.exists(path));
+    }
+}
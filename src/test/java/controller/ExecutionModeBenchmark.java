@@ -0,0 +1,120 @@
+package controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import repository_information.GitMandatories;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static util.Globals.MAX_REPOS_IN_FLIGHT;
+
+/**
+ * Compares the {@link ExecutionMode}s on repositories, whose requests to GitHub only block the calling thread.
+ * The repositories are submitted like the {@link Checker} does, bounded by {@link util.Globals#MAX_REPOS_IN_FLIGHT}.
+ * <p>
+ * Run after "mvn test-compile" with the test classpath, e.g. from the IDE, or with:
+ * "mvn exec:java -Dexec.mainClass=controller.ExecutionModeBenchmark -Dexec.classpathScope=test"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutionModeBenchmark {
+
+    /**
+     * Simulated duration of one blocking request to GitHub.
+     */
+    private static final int LATENCY_MILLIS = 50;
+
+    private static final int REPOSITORIES = 4 * Runtime.getRuntime().availableProcessors() + 8;
+
+    /**
+     * Answers like the GitHub API, but only blocks the calling thread instead of sending requests.
+     */
+    private static class SlowGitMandatories implements GitMandatories {
+
+        @Override
+        public JsonNode getStructure(String owner, String repositoryName) {
+            block();
+            return JsonNodeFactory.instance.arrayNode();
+        }
+
+        @Override
+        public String getFile(String path, String owner, String repositoryName) {
+            block();
+            return "architecture";
+        }
+
+        @Override
+        public boolean cloneRepo(String owner, String repositoryName, Path repoPath) {
+            return false;
+        }
+
+        @Override
+        public JsonNode generalInfo(String owner, String repositoryName) {
+            block();
+            return JsonNodeFactory.instance.objectNode().put("stargazers_count", 1);
+        }
+
+        @Override
+        public boolean checkRepositoryExistence(String owner, String repositoryName) {
+            return true;
+        }
+
+        @Override
+        public String[] getOwnersRepositories(String owner) {
+            return new String[0];
+        }
+
+        private void block() {
+            try {
+                Thread.sleep(LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Param({"PLATFORM_POOL", "VIRTUAL_THREADS"})
+    public ExecutionMode mode;
+
+    private final GitMandatories gitAPI = new SlowGitMandatories();
+
+    @Benchmark
+    public void analyzeStubbedRepositories() throws Exception {
+        try (ExecutorService executor = mode.createExecutor()) {
+            CompletionService<Void> completionService = Checker.submitBounded(REPOSITORIES, executor,
+                    new Semaphore(MAX_REPOS_IN_FLIGHT), () -> {
+                        gitAPI.generalInfo("owner", "repo");
+                        gitAPI.getStructure("owner", "repo");
+                        gitAPI.getFile("README.md", "owner", "repo");
+                    });
+            for (int i = 0; i < REPOSITORIES; i++) {
+                completionService.take().get();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ExecutionModeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
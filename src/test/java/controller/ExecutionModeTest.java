@@ -0,0 +1,91 @@
+package controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExecutionModeTest {
+
+    private static final int PROCESSORS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Permits of the semaphore bounding the repositories in flight, more than the processors.
+     */
+    private static final int PERMITS = PROCESSORS + 2;
+
+    private static final int REPOSITORIES = PERMITS + 4;
+
+    /**
+     * Submits {@link #REPOSITORIES} blocking tasks the way the {@link Checker} does and returns the number of tasks,
+     * which were in flight at the same time. The tasks block until the expected number of them started, so the
+     * result doesn't depend on the speed of the machine.
+     *
+     * @param mode to create the executor with
+     * @param expected number of tasks, which can be in flight at the same time
+     * @return the peak number of tasks in flight
+     */
+    private int peakInFlight(ExecutionMode mode, int expected) throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(expected);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = mode.createExecutor()) {
+            CompletionService<Void> completionService = Checker.submitBounded(REPOSITORIES, executor,
+                    new Semaphore(PERMITS), () -> {
+                        peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        started.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            inFlight.decrementAndGet();
+                        }
+                    });
+
+            assertTrue(started.await(10, TimeUnit.SECONDS), "Not enough tasks were in flight at the same time.");
+            assertEquals(expected, inFlight.get());
+            release.countDown();
+            for (int i = 0; i < REPOSITORIES; i++) {
+                assertNull(completionService.take().get());
+            }
+        }
+        return peak.get();
+    }
+
+    @Test
+    void virtualThreadsAreOnlyBoundedByTheRepositoriesInFlight() throws Exception {
+        int peak = peakInFlight(ExecutionMode.VIRTUAL_THREADS, PERMITS);
+
+        assertEquals(PERMITS, peak);
+        assertTrue(peak > PROCESSORS);
+    }
+
+    @Test
+    void platformPoolIsBoundedByTheProcessors() throws Exception {
+        assertEquals(PROCESSORS, peakInFlight(ExecutionMode.PLATFORM_POOL, PROCESSORS));
+    }
+
+    @Test
+    void pipelineHasNoExecutor() {
+        assertThrows(IllegalStateException.class, ExecutionMode.PIPELINE::createExecutor);
+    }
+
+    @Test
+    void fromArgument() {
+        assertEquals(ExecutionMode.VIRTUAL_THREADS, ExecutionMode.fromArgument("Virtual"));
+        assertEquals(ExecutionMode.PLATFORM_POOL, ExecutionMode.fromArgument("platform"));
+        assertNull(ExecutionMode.fromArgument("green"));
+    }
+}
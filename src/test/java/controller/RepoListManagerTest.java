@@ -0,0 +1,186 @@
+package controller;
+
+import model.RepoList;
+import model.Repository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import repository_information.GitHub.RateResource;
+import repository_information.RateLimitMandatories;
+import util.CSVHandler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static util.Globals.MAX_LOOK_AHEAD;
+import static util.Globals.MIN_LOOK_AHEAD;
+
+class RepoListManagerTest {
+
+    /**
+     * Reports a fixed search rate limit.
+     */
+    private record FixedRateLimit(int requestsLeft, long timeTillReset) implements RateLimitMandatories {
+
+        @Override
+        public void setRateLimit(RateResource resource, int maxRequests, int requestsLeft, long resetTime) {
+        }
+
+        @Override
+        public boolean checkRateLimit() {
+            return requestsLeft > 0;
+        }
+
+        @Override
+        public boolean checkMildRateLimit(RateResource resource) {
+            return requestsLeft > 0;
+        }
+
+        @Override
+        public boolean checkHardRateLimit(RateResource resource) {
+            return requestsLeft > 0;
+        }
+
+        @Override
+        public void acquire(RateResource resource, boolean critical) {
+        }
+
+        @Override
+        public CompletableFuture<Void> acquireAsync(RateResource resource, boolean critical) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public int getRequestsLeft(RateResource resource) {
+            return requestsLeft;
+        }
+
+        @Override
+        public long getTimeTillReset(RateResource rateResource) {
+            return timeTillReset;
+        }
+    }
+
+    private static final FixedRateLimit UNKNOWN = new FixedRateLimit(Integer.MAX_VALUE, Long.MAX_VALUE);
+
+    @BeforeEach
+    void resetRepoList() throws Exception {
+        java.lang.reflect.Field instanceField = RepoList.class.getDeclaredField("instance");
+        instanceField.setAccessible(true);
+        instanceField.set(null, null);
+    }
+
+    @Test
+    void testLookAheadCoversTheTimeTillTheNextSearch() {
+        // 10 requests in 20 seconds allow one search every 2 seconds, plus 1 second for the search itself.
+        // Twice the 5 repositories per second consumed meanwhile.
+        assertEquals(30, RepoListManager.getLookAhead(new FixedRateLimit(10, 20_000), 5, 1));
+    }
+
+    @Test
+    void testLookAheadIsClamped() {
+        assertEquals(MIN_LOOK_AHEAD, RepoListManager.getLookAhead(UNKNOWN, 0, 1));
+        assertEquals(MAX_LOOK_AHEAD, RepoListManager.getLookAhead(new FixedRateLimit(1, 3_600_000), 5, 1));
+    }
+
+    @Test
+    void testLookAheadIsMaximalWithoutSearchRequestsLeft() {
+        assertEquals(MAX_LOOK_AHEAD, RepoListManager.getLookAhead(new FixedRateLimit(0, 60_000), 0, 1));
+    }
+
+    @Test
+    void testDiscoveryStopsWhenTheSearchIsExhausted() throws InterruptedException {
+        AtomicInteger requests = new AtomicInteger();
+        RepoListManager manager = new RepoListManager(new CSVHandler("test.csv"), UNKNOWN) {
+            @Override
+            List<Repository> requestRepos() {
+                requests.incrementAndGet();
+                return List.of();
+            }
+        };
+
+        manager.startDiscovery();
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                while (!manager.isExhausted()) {
+                    Thread.sleep(10);
+                }
+            });
+            // A running discovery would request again right away, as the list is below the look-ahead.
+            Thread.sleep(200);
+            assertEquals(1, requests.get());
+            assertTimeoutPreemptively(Duration.ofSeconds(1), () -> assertNull(manager.getNextRepo()));
+        } finally {
+            manager.stopDiscovery();
+        }
+    }
+
+    @Test
+    void testMetadataIsOnlyPreloadedForNewRepositories() {
+        RepoList.getInstance().addSingleRepo(new Repository("known", "owner"));
+        List<String> preloaded = new CopyOnWriteArrayList<>();
+        AtomicInteger requests = new AtomicInteger();
+        RepoListManager manager = new RepoListManager(new CSVHandler("test.csv"), UNKNOWN) {
+            @Override
+            List<Repository> requestRepos() {
+                if (requests.getAndIncrement() > 0) {
+                    return List.of();
+                }
+                return List.of(new Repository("known", "owner"), new Repository("new", "owner"),
+                        new Repository("new", "owner"), new Repository("other", "owner"));
+            }
+
+            @Override
+            void preloadMetadata(List<Repository> repos) {
+                for (Repository repo : repos) {
+                    preloaded.add(repo.getRepositoryName());
+                }
+            }
+        };
+
+        manager.startDiscovery();
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                while (!manager.isExhausted()) {
+                    Thread.sleep(10);
+                }
+            });
+        } finally {
+            manager.stopDiscovery();
+        }
+        assertEquals(List.of("new", "other"), preloaded);
+        assertEquals(3, RepoList.getInstance().size());
+    }
+
+    @Test
+    void testDiscoveryPausesWhenPageHasNoNewRepositories() throws InterruptedException {
+        RepoList.getInstance().addSingleRepo(new Repository("known", "owner"));
+        AtomicInteger requests = new AtomicInteger();
+        RepoListManager manager = new RepoListManager(new CSVHandler("test.csv"), UNKNOWN) {
+            @Override
+            List<Repository> requestRepos() {
+                requests.incrementAndGet();
+                return List.of(new Repository("known", "owner"));
+            }
+        };
+
+        manager.startDiscovery();
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                while (requests.get() == 0) {
+                    Thread.sleep(10);
+                }
+            });
+            Thread.sleep(300);
+        } finally {
+            manager.stopDiscovery();
+        }
+        // The next request is sent after the interval of the discovery, one second.
+        assertEquals(1, requests.get());
+    }
+}
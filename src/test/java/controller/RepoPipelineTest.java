@@ -0,0 +1,142 @@
+package controller;
+
+import model.MockRepository;
+import model.Repository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import util.Globals;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RepoPipelineTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private int queueCapacity;
+    private int networkWorkers;
+    private int evaluationWorkers;
+
+    private final AtomicInteger discovered = new AtomicInteger();
+    private final Queue<String> fetchedMetadata = new ConcurrentLinkedQueue<>();
+    private final Queue<String> fetchedFiles = new ConcurrentLinkedQueue<>();
+    private final Queue<String> evaluated = new ConcurrentLinkedQueue<>();
+    private final Queue<String> persisted = new ConcurrentLinkedQueue<>();
+    private final Queue<String> dropped = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void saveGlobals() {
+        queueCapacity = Globals.PIPELINE_QUEUE_CAPACITY;
+        networkWorkers = Globals.PIPELINE_NETWORK_WORKERS;
+        evaluationWorkers = Globals.PIPELINE_EVALUATION_WORKERS;
+    }
+
+    @AfterEach
+    void restoreGlobals() {
+        Globals.PIPELINE_QUEUE_CAPACITY = queueCapacity;
+        Globals.PIPELINE_NETWORK_WORKERS = networkWorkers;
+        Globals.PIPELINE_EVALUATION_WORKERS = evaluationWorkers;
+    }
+
+    /**
+     * Provides an endless number of repositories named repo0, repo1, ...
+     */
+    private Supplier<Repository> source() {
+        return () -> new MockRepository("repo" + discovered.getAndIncrement(), "owner");
+    }
+
+    private static Consumer<Repository> record(Queue<String> names) {
+        return repository -> names.add(repository.getRepositoryName());
+    }
+
+    private RepoPipeline pipeline(Consumer<Repository> fetchMetadata, Consumer<Repository> persist) {
+        return new RepoPipeline(source(), fetchMetadata, record(fetchedFiles), record(evaluated), persist,
+                record(dropped));
+    }
+
+    @Test
+    void endReachesEveryStage() {
+        RepoPipeline pipeline = pipeline(record(fetchedMetadata), record(persisted));
+
+        assertTimeoutPreemptively(TIMEOUT, () -> pipeline.run(5));
+
+        assertEquals(5, fetchedMetadata.size());
+        assertEquals(5, fetchedFiles.size());
+        assertEquals(5, evaluated.size());
+        assertEquals(5, persisted.size());
+        assertTrue(dropped.isEmpty());
+    }
+
+    @Test
+    void failingRepositoryIsDroppedWithoutStallingLaterStages() {
+        RepoPipeline pipeline = pipeline(repository -> {
+            if (repository.getRepositoryName().equals("repo1")) {
+                throw new IllegalStateException("metadata unavailable");
+            }
+            fetchedMetadata.add(repository.getRepositoryName());
+        }, record(persisted));
+
+        assertTimeoutPreemptively(TIMEOUT, () -> pipeline.run(4));
+
+        assertEquals(List.of("repo1"), List.copyOf(dropped));
+        assertEquals(3, persisted.size());
+        assertTrue(!persisted.contains("repo1") && !evaluated.contains("repo1") && !fetchedFiles.contains("repo1"));
+    }
+
+    @Test
+    void fullQueuesStopTheDiscovery() throws Exception {
+        Globals.PIPELINE_QUEUE_CAPACITY = 1;
+        Globals.PIPELINE_NETWORK_WORKERS = 1;
+        Globals.PIPELINE_EVALUATION_WORKERS = 1;
+        CountDownLatch persistBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RepoPipeline pipeline = pipeline(record(fetchedMetadata), repository -> {
+            persistBlocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            persisted.add(repository.getRepositoryName());
+        });
+
+        Thread runner = Thread.ofVirtual().start(() -> pipeline.run(100));
+        assertTrue(persistBlocked.await(10, TimeUnit.SECONDS));
+
+        // Each of the four stages holds one repository in its worker and one in its queue, the discovery waits with
+        // one more in front of the first queue.
+        int bound = 4 * 2 + 1;
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (discovered.get() < bound && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        assertEquals(bound, discovered.get());
+
+        release.countDown();
+        runner.join(TIMEOUT);
+        assertEquals(100, persisted.size());
+    }
+
+    @Test
+    void runFinishesAfterTheGivenNumberOfRepositories() {
+        RepoPipeline pipeline = pipeline(record(fetchedMetadata), record(persisted));
+
+        assertTimeoutPreemptively(TIMEOUT, () -> pipeline.run(7));
+
+        assertEquals(7, discovered.get());
+        assertEquals(7, persisted.size());
+    }
+}
@@ -0,0 +1,33 @@
+package controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuleCollectionTest {
+
+    @Test
+    void testExpensiveRulesRunLast() {
+        RuleCollection collection = new RuleCollection();
+        List<String> order = collection.getExecutionOrder().stream()
+                .map(index -> collection.getAllRules().get(index).getName())
+                .toList();
+
+        assertEquals(collection.getNumberOfRules(), order.size());
+        for (String cheapRule : List.of("KeyWord", "DocFolder", "SearchOwnerRepo")) {
+            assertTrue(order.indexOf(cheapRule) < order.indexOf("LLMReadme"));
+            assertTrue(order.indexOf(cheapRule) < order.indexOf("ReadReadmeLinks"));
+        }
+    }
+
+    @Test
+    void testColumnOrderIsRegistrationOrder() {
+        RuleCollection collection = new RuleCollection();
+
+        assertEquals("KeyWord", collection.getAllRules().get(0).getName());
+        assertEquals("LLMReadme", collection.getAllRules().get(1).getName());
+    }
+}
@@ -0,0 +1,72 @@
+package controller;
+
+import model.MockRepository;
+import model.RepositoryAspectEval;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuleTest {
+
+    private final Rule rule = new Rule(RuleType.MANDATORY, new MockRepository("name", "owner")) {
+        @Override
+        public RepositoryAspectEval execute() {
+            return new RepositoryAspectEval(0);
+        }
+
+        @Override
+        public int getMaxPoints() {
+            return 0;
+        }
+    };
+
+    @Test
+    void testOnlyWholeWordsAreFound() {
+        assertTrue(rule.contains("See the Docs.", "docs"));
+        assertTrue(rule.contains("docs", "DOCS"));
+        assertFalse(rule.contains("Dockerfile", "doc"));
+        assertTrue(rule.contains("doc_folder", "doc"));
+        assertFalse(rule.contains("some text", ""));
+    }
+
+    @Test
+    void testCountsOccurrences() {
+        String text = "UML: a UML diagram, not a UMLet diagram. Design docs and the design.";
+
+        assertEquals(2, rule.countKeywordsMultipleOccurrence(text, "uml"));
+        assertEquals(4, rule.countMultipleKeywordsMultipleOccurrence(text, List.of("UML", "design")));
+        assertEquals(2, rule.countMultipleKeywordsSingleOccurrence(text, List.of("UML", "design", "wiki")));
+        assertEquals(2, rule.countMultipleKeywordsSingleOccurrence(text, List.of("docs", "doc", "design")));
+    }
+
+    @Test
+    void testCountFoundStopsWhenEveryTermIsFound() {
+        String found = "The docs contain UML diagrams. ";
+        // Fails, if the scan reads beyond the occurrences of all terms.
+        CharSequence text = new CharSequence() {
+            @Override
+            public int length() {
+                return Integer.MAX_VALUE;
+            }
+
+            @Override
+            public char charAt(int index) {
+                if (index > found.length()) {
+                    throw new AssertionError("Scanned beyond the last term at " + index);
+                }
+                return found.charAt(index);
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        assertEquals(2, new Rule.TermScanner(List.of("UML", "docs", "")).countFound(text));
+    }
+}
@@ -1,22 +1,40 @@
 package controller.rules;
 
+import model.MockRepoCache;
 import model.MockRepository;
 import model.Repository;
 import model.RepositoryAspectEval;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import util.Globals;
+import util.KeywordIndex;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class KeyWordTest {
 
+    private static final int[] LIMITS = {0, 1, 5, 20, 50, 200};
+
+    private final int batchSize = Globals.TEXT_FILE_BATCH_SIZE;
+
     private Repository repository;
     private KeyWord keyWordRule;
 
     @BeforeEach
     void setUp() {
         repository = new MockRepository("name123", "repository123");
-        keyWordRule = new KeyWord(repository, new int[]{0, 1, 5, 20, 50, 200});
+        keyWordRule = new KeyWord(repository, LIMITS);
+    }
+
+    @AfterEach
+    void resetBatchSize() {
+        Globals.TEXT_FILE_BATCH_SIZE = batchSize;
     }
 
     @Test
@@ -24,4 +42,25 @@ class KeyWordTest {
         RepositoryAspectEval result = keyWordRule.execute();
         assertEquals(1, result.getPoints());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testStopsBeforeTheNextBatch() {
+        Globals.TEXT_FILE_BATCH_SIZE = 2;
+        String content = "UML";
+        int keywordsPerFile = KeywordIndex.getAll().find(content).cardinality();
+        assertTrue(keywordsPerFile > 0);
+        // The highest limit is exceeded by this file, the rule must not request the files after its batch.
+        int filesNeeded = LIMITS[LIMITS.length - 1] / keywordsPerFile + 1;
+        int batchesNeeded = (filesNeeded + 1) / 2;
+        Map<String, String> files = new LinkedHashMap<>();
+        for (int i = 0; i < 2 * batchesNeeded + 4; i++) {
+            files.put("file" + i + ".md", content);
+        }
+        MockRepoCache cache = new MockRepoCache(List.of(), files);
+
+        RepositoryAspectEval result = new KeyWord(new MockRepository("name", "owner", cache), LIMITS).execute();
+
+        assertEquals(LIMITS.length, result.getPoints());
+        assertEquals(batchesNeeded, cache.getFileRequests().size());
+    }
+}
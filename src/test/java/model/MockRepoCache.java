@@ -0,0 +1,69 @@
+package model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import repository_information.RepoCache;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of a repository, which answers from the given folders and files instead of GitHub.
+ * Records the requests for files.
+ */
+public class MockRepoCache extends RepoCache {
+
+    private final List<String> folders;
+
+    private final Map<String, String> files;
+
+    private final List<List<String>> fileRequests = new ArrayList<>();
+
+    /**
+     * Creates the cache of a repository with the given folders and files.
+     *
+     * @param folders paths of the folders
+     * @param files path of each file mapped to its content, in the order of the structure
+     */
+    public MockRepoCache(List<String> folders, Map<String, String> files) {
+        super("mock", "mock");
+        this.folders = folders;
+        this.files = new LinkedHashMap<>(files);
+    }
+
+    @Override
+    public JsonNode getStructure() {
+        ArrayNode array = JsonNodeFactory.instance.arrayNode();
+        for (String folder : folders) {
+            array.add(JsonNodeFactory.instance.objectNode().put("type", "tree").put("path", folder));
+        }
+        for (String file : files.keySet()) {
+            array.add(JsonNodeFactory.instance.objectNode().put("type", "blob").put("path", file));
+        }
+        return array;
+    }
+
+    @Override
+    public synchronized List<TextFile> getTextFiles(List<String> paths, List<String> upcoming) {
+        fileRequests.add(List.copyOf(paths));
+        List<TextFile> results = new ArrayList<>();
+        for (String path : paths) {
+            if (files.containsKey(path)) {
+                results.add(new TextFile(path, files.get(path)));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Getter for the requested files.
+     *
+     * @return the paths of each request
+     */
+    public synchronized List<List<String>> getFileRequests() {
+        return List.copyOf(fileRequests);
+    }
+}
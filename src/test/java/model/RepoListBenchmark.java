@@ -0,0 +1,85 @@
+package model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures {@link RepoList#addSingleRepo(Repository)} and {@link RepoList#getNext()} with 32 producers and
+ * 32 consumers contending for the same list.
+ * <p>
+ * Run after "mvn test-compile" with the test classpath, e.g. from the IDE, or with:
+ * "mvn exec:java -Dexec.mainClass=model.RepoListBenchmark -Dexec.classpathScope=test"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class RepoListBenchmark {
+
+    /**
+     * Number of distinct repositories. Repositories are only new once, afterward the producers measure the
+     * rejection of duplicates.
+     */
+    private static final int REPOSITORIES = 1 << 18;
+
+    private Repository[] repositories;
+
+    private final AtomicInteger nextRepository = new AtomicInteger();
+
+    private RepoList repoList;
+
+    @Setup(Level.Trial)
+    public void createRepositories() {
+        repositories = new Repository[REPOSITORIES];
+        for (int i = 0; i < REPOSITORIES; i++) {
+            repositories[i] = new Repository("repo" + i, "owner" + (i % 1000));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetList() throws Exception {
+        Field instanceField = RepoList.class.getDeclaredField("instance");
+        instanceField.setAccessible(true);
+        instanceField.set(null, null);
+        repoList = RepoList.getInstance();
+        nextRepository.set(0);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(32)
+    public boolean addSingleRepo() {
+        return repoList.addSingleRepo(repositories[nextRepository.getAndIncrement() & (REPOSITORIES - 1)]);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(32)
+    public Repository getNext() {
+        return repoList.getNext();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RepoListBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -3,6 +3,13 @@ package model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -77,4 +84,39 @@ class RepoListTest {
         RepoList list = RepoList.getInstance();
         assertNull(list.getNext());
     }
+
+    @Test
+    void testConcurrentDuplicatesAreAddedOnce() throws Exception {
+        RepoList list = RepoList.getInstance();
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 64; i++) {
+                Repository repo = new MockRepository("repo" + (i % 4), "owner");
+                results.add(executor.submit(() -> list.addSingleRepo(repo)));
+            }
+        }
+
+        int added = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                added++;
+            }
+        }
+        assertEquals(4, added);
+        assertEquals(4, list.size());
+    }
+
+    @Test
+    void testGetNextWaitsForProducer() throws Exception {
+        RepoList list = RepoList.getInstance();
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<Repository> next = executor.submit(() -> list.getNext(10, TimeUnit.SECONDS));
+            list.addSingleRepo(new MockRepository("repo1", "owner"));
+
+            assertEquals("repository: repo1 of owner: owner", next.get().getIdentifier());
+        }
+        assertNull(list.getNext(10, TimeUnit.MILLISECONDS));
+    }
 }
@@ -1,7 +1,15 @@
 package model;
 
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import util.Globals;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,4 +37,38 @@ class RepositoryTest {
         assertNotNull(repository.getCreationDate());
         assert (repository.getCreationDate().getTime() > 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getQualityMetricsFromPreloadedGeneralInfo() {
+        ObjectNode generalInfo = JsonNodeFactory.instance.objectNode()
+                .put("stargazers_count", 42)
+                .put("size", 100);
+        Repository preloaded = new Repository("name123", "repository123", generalInfo);
+
+        // Answered without a request, the repository doesn't exist.
+        assertEquals(42, preloaded.getQualityMetrics());
+        assertSame(generalInfo, preloaded.generalInfo());
+    }
+
+    @Test
+    void testTextfilesAreFetchedInBatchesTillTheVisitorStops() throws Exception {
+        Map<String, String> files = new LinkedHashMap<>();
+        for (int i = 0; i < 2 * Globals.TEXT_FILE_BATCH_SIZE + 1; i++) {
+            files.put("docs/file" + i + ".md", "content");
+        }
+        files.put("src/Main.java", "class Main {}");
+        MockRepoCache cache = new MockRepoCache(List.of("docs", "src"), files);
+        Repository batched = new Repository("name123", "repository123", cache);
+
+        List<Integer> batchSizes = new ArrayList<>();
+        assertFalse(batched.forEachTextfileBatch(batch -> {
+            batchSizes.add(batch.size());
+            return batchSizes.size() < 2;
+        }));
+
+        assertEquals(List.of(Globals.TEXT_FILE_BATCH_SIZE, Globals.TEXT_FILE_BATCH_SIZE), batchSizes);
+        assertEquals(2, cache.getFileRequests().size());
+        assertEquals(2 * Globals.TEXT_FILE_BATCH_SIZE + 1, batched.getTextfiles().size());
+        assertEquals(5, cache.getFileRequests().size());
+    }
+}
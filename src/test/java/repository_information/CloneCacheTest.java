@@ -0,0 +1,187 @@
+package repository_information;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CloneCacheTest {
+
+    @TempDir
+    Path origins;
+
+    @TempDir
+    Path cachePath;
+
+    private final LocalGit gitAPI = new LocalGit();
+
+    /**
+     * Clones and fetches like GitHub, but from local repositories.
+     */
+    private class LocalGit implements GitMandatories {
+
+        int clones = 0;
+
+        int updates = 0;
+
+        @Override
+        public boolean cloneRepo(String owner, String repositoryName, Path repoPath, CloneMode mode,
+                                 String defaultBranch, Predicate<String> checkoutFilter) {
+            clones++;
+            try {
+                LocalClone.cloneRepo(origins.resolve(repositoryName).toUri(), repoPath, mode, defaultBranch,
+                        checkoutFilter, null);
+                return true;
+            } catch (GitAPIException | IOException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public boolean updateClone(String owner, String repositoryName, Path repoPath) {
+            updates++;
+            try {
+                LocalClone.updateClone(repoPath, null);
+                return true;
+            } catch (GitAPIException | IOException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public boolean cloneRepo(String owner, String repositoryName, Path repoPath) {
+            return cloneRepo(owner, repositoryName, repoPath, CloneMode.BARE, null, file -> false);
+        }
+
+        @Override
+        public JsonNode getStructure(String owner, String repositoryName) {
+            return null;
+        }
+
+        @Override
+        public String getFile(String path, String owner, String repositoryName) {
+            return null;
+        }
+
+        @Override
+        public JsonNode generalInfo(String owner, String repositoryName) {
+            return null;
+        }
+
+        @Override
+        public boolean checkRepositoryExistence(String owner, String repositoryName) {
+            return true;
+        }
+
+        @Override
+        public String[] getOwnersRepositories(String owner) {
+            return new String[0];
+        }
+    }
+
+    private final Map<String, Integer> commits = new HashMap<>();
+
+    @BeforeEach
+    void createOrigins() throws Exception {
+        commit("first");
+        commit("second");
+    }
+
+    private void commit(String repositoryName) throws Exception {
+        Path origin = origins.resolve(repositoryName);
+        int number = commits.merge(repositoryName, 1, Integer::sum);
+        Files.createDirectories(origin);
+        Files.writeString(origin.resolve("README.md"), "version " + number + "\n" + "x".repeat(10000));
+        try (Git git = Git.init().setDirectory(origin.toFile()).call()) {
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("commit " + number).setSign(false).setAuthor("test", "test@example.org")
+                    .setCommitter("test", "test@example.org").call();
+        }
+    }
+
+    @Test
+    void testRerunFetchesInsteadOfCloning() throws Exception {
+        CloneCache cache = new CloneCache(cachePath, Long.MAX_VALUE, gitAPI);
+        Path clone = cache.getClone("owner", "first", null, "2024-01-01T00:00:00Z");
+        String firstSha = LocalClone.getHeadSha(clone);
+        cache.release("owner", "first");
+        commit("first");
+
+        // A new cache reads the index of the previous run.
+        CloneCache rerun = new CloneCache(cachePath, Long.MAX_VALUE, gitAPI);
+        assertEquals(clone, rerun.getClone("owner", "first", null, "2024-02-01T00:00:00Z"));
+
+        assertEquals(1, gitAPI.clones);
+        assertEquals(1, gitAPI.updates);
+        assertNotEquals(firstSha, LocalClone.getHeadSha(clone));
+        assertTrue(LocalClone.readFiles(clone, List.of("README.md")).get("README.md").startsWith("version 2"));
+        // Only the last commit is fetched.
+        assertTrue(Files.exists(clone.resolve("shallow")));
+    }
+
+    @Test
+    void testUnchangedRepositoryIsNotFetched() {
+        CloneCache cache = new CloneCache(cachePath, Long.MAX_VALUE, gitAPI);
+        Path clone = cache.getClone("owner", "first", null, "2024-01-01T00:00:00Z");
+        cache.release("owner", "first");
+
+        CloneCache rerun = new CloneCache(cachePath, Long.MAX_VALUE, gitAPI);
+        assertEquals(clone, rerun.getClone("owner", "first", null, "2024-01-01T00:00:00Z"));
+        rerun.release("owner", "first");
+        // Without the time of the last push, the clone can't be known to be unchanged.
+        assertEquals(clone, rerun.getClone("owner", "first", null, null));
+
+        assertEquals(1, gitAPI.clones);
+        assertEquals(1, gitAPI.updates);
+    }
+
+    /**
+     * Measures the size of a single clone, so the tests don't depend on the storage format of JGit.
+     */
+    private long getCloneSize(Path probe) throws IOException {
+        Path clone = new CloneCache(probe, Long.MAX_VALUE, gitAPI).getClone("owner", "first", null, null);
+        try (var files = Files.walk(clone)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedClone(@TempDir Path probe) throws IOException {
+        // Fits one clone, but not two.
+        CloneCache cache = new CloneCache(cachePath, getCloneSize(probe) + 1, gitAPI);
+        Path first = cache.getClone("owner", "first", null, null);
+        cache.release("owner", "first");
+        Path second = cache.getClone("owner", "second", null, null);
+
+        assertFalse(Files.exists(first));
+        assertTrue(Files.exists(second));
+    }
+
+    @Test
+    void testKeepsClonesInUse(@TempDir Path probe) throws IOException {
+        CloneCache cache = new CloneCache(cachePath, getCloneSize(probe) + 1, gitAPI);
+        Path first = cache.getClone("owner", "first", null, null);
+        Path second = cache.getClone("owner", "second", null, null);
+
+        assertTrue(Files.exists(first));
+        assertTrue(Files.exists(second));
+
+        cache.release("owner", "first");
+        assertFalse(Files.exists(first));
+    }
+}
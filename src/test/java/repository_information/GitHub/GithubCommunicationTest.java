@@ -0,0 +1,133 @@
+package repository_information.GitHub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import util.Globals;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class GithubCommunicationTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+
+    private HttpServer server;
+
+    private ExecutorService handlers;
+
+    /**
+     * Keeps the request for /slow open till the test ends.
+     */
+    private final CountDownLatch testFinished = new CountDownLatch(1);
+
+    private int fileRequestTimeout;
+
+    /**
+     * Answers like the contents API: /missing with 404, /slow not before the end of the test and every other path
+     * with a file containing the path.
+     */
+    @BeforeEach
+    void startServer() throws IOException {
+        fileRequestTimeout = Globals.FILE_REQUEST_TIMEOUT;
+        Globals.FILE_REQUEST_TIMEOUT = 1;
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        handlers = Executors.newCachedThreadPool();
+        server.setExecutor(handlers);
+        server.createContext("/", this::answer);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        Globals.FILE_REQUEST_TIMEOUT = fileRequestTimeout;
+        testFinished.countDown();
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    private void answer(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.equals("/missing")) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        if (path.equals("/slow")) {
+            try {
+                testFinished.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        String content = Base64.getEncoder().encodeToString(path.getBytes(StandardCharsets.UTF_8));
+        byte[] body = ("{\"content\": \"" + content + "\"}").getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private URI url(String path) {
+        return URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + path);
+    }
+
+    @Test
+    void testFailedFilesLeaveTheOthersIntact() {
+        Map<String, URI> urls = new LinkedHashMap<>();
+        urls.put("first.md", url("/first"));
+        urls.put("slow.md", url("/slow"));
+        urls.put("missing.md", url("/missing"));
+        urls.put("second.md", url("/second"));
+
+        Map<String, String> files = assertTimeoutPreemptively(TIMEOUT,
+                () -> GithubCommunication.getInstance().getFiles(urls));
+
+        assertEquals(4, files.size());
+        assertEquals("/first", files.get("first.md"));
+        assertEquals("/second", files.get("second.md"));
+        assertNull(files.get("slow.md"));
+        assertNull(files.get("missing.md"));
+    }
+
+    @Test
+    void testHostPermitsAreReleasedAfterFailures() {
+        // More failures than permits per host, a permit kept by a failed request would block the next requests.
+        Map<String, URI> failing = new LinkedHashMap<>();
+        for (int i = 0; i <= Globals.MAX_REQUESTS_PER_HOST; i++) {
+            failing.put("missing" + i + ".md", url("/missing"));
+        }
+        failing.put("slow.md", url("/slow"));
+        Map<String, URI> succeeding = new LinkedHashMap<>();
+        for (int i = 0; i < Globals.MAX_REQUESTS_PER_HOST; i++) {
+            succeeding.put("file" + i + ".md", url("/file" + i));
+        }
+
+        Map<String, String> files = assertTimeoutPreemptively(TIMEOUT, () -> {
+            GithubCommunication.getInstance().getFiles(failing);
+            return GithubCommunication.getInstance().getFiles(succeeding);
+        });
+
+        for (int i = 0; i < Globals.MAX_REQUESTS_PER_HOST; i++) {
+            assertEquals("/file" + i, files.get("file" + i + ".md"));
+        }
+    }
+}
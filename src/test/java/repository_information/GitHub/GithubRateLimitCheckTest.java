@@ -0,0 +1,74 @@
+package repository_information.GitHub;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GithubRateLimitCheckTest {
+
+    private static long inOneHour() {
+        return System.currentTimeMillis() + 3_600_000;
+    }
+
+    @Test
+    void testRoutesToTokenWithMostBudget() throws InterruptedException {
+        GithubRateLimitCheck rateLimitCheck = new GithubRateLimitCheck(3);
+        rateLimitCheck.setRateLimit(0, RateResource.CORE, 5000, 1000, inOneHour());
+        rateLimitCheck.setRateLimit(1, RateResource.CORE, 5000, 4000, inOneHour());
+        rateLimitCheck.setRateLimit(2, RateResource.CORE, 5000, 2000, inOneHour());
+
+        assertEquals(1, rateLimitCheck.acquireToken(RateResource.CORE, false));
+        // The permit is counted down till the next response.
+        assertEquals(6999, rateLimitCheck.getRequestsLeft(RateResource.CORE));
+    }
+
+    @Test
+    void testSkipsExhaustedToken() throws InterruptedException {
+        GithubRateLimitCheck rateLimitCheck = new GithubRateLimitCheck(2);
+        rateLimitCheck.setRateLimit(0, RateResource.GRAPHQL, 5000, 0, inOneHour());
+        rateLimitCheck.setRateLimit(1, RateResource.GRAPHQL, 5000, 10, inOneHour());
+
+        assertEquals(1, rateLimitCheck.acquireToken(RateResource.GRAPHQL, true));
+        assertTrue(rateLimitCheck.checkHardRateLimit(RateResource.GRAPHQL));
+        assertEquals(9, rateLimitCheck.getRequestsLeft(RateResource.GRAPHQL));
+    }
+
+    @Test
+    void testAsyncRoutesToTokenWithMostBudget() {
+        GithubRateLimitCheck rateLimitCheck = new GithubRateLimitCheck(2);
+        rateLimitCheck.setRateLimit(0, RateResource.CORE, 5000, 4000, inOneHour());
+        rateLimitCheck.setRateLimit(1, RateResource.CORE, 5000, 3000, inOneHour());
+
+        assertEquals(0, rateLimitCheck.acquireTokenAsync(RateResource.CORE, false).join());
+    }
+
+    @Test
+    void testBudgetIsCountedDownAndRestoredAfterReset() throws InterruptedException {
+        GithubRateLimitCheck rateLimitCheck = new GithubRateLimitCheck(1);
+        assertEquals(Integer.MAX_VALUE, rateLimitCheck.getRequestsLeft(RateResource.GRAPHQL));
+
+        rateLimitCheck.setRateLimit(0, RateResource.GRAPHQL, 5000, 100, inOneHour());
+        rateLimitCheck.acquireToken(RateResource.GRAPHQL, true);
+        assertEquals(99, rateLimitCheck.getRequestsLeft(RateResource.GRAPHQL));
+
+        // The window passed without a new response.
+        rateLimitCheck.setRateLimit(0, RateResource.CORE, 5000, 0, System.currentTimeMillis() - 1000);
+        assertEquals(5000, rateLimitCheck.getRequestsLeft(RateResource.CORE));
+        assertTrue(rateLimitCheck.getTimeTillReset(RateResource.CORE) > 0);
+    }
+
+    @Test
+    void testHardLimitHoldsWhileAnyTokenHasBudget() {
+        GithubRateLimitCheck rateLimitCheck = new GithubRateLimitCheck(2);
+        assertTrue(rateLimitCheck.checkHardRateLimit(RateResource.SEARCH));
+
+        rateLimitCheck.setRateLimit(0, RateResource.SEARCH, 30, 0, inOneHour());
+        rateLimitCheck.setRateLimit(1, RateResource.SEARCH, 30, 1, inOneHour());
+        assertTrue(rateLimitCheck.checkHardRateLimit(RateResource.SEARCH));
+
+        rateLimitCheck.setRateLimit(1, RateResource.SEARCH, 30, 0, inOneHour());
+        assertFalse(rateLimitCheck.checkHardRateLimit(RateResource.SEARCH));
+    }
+}
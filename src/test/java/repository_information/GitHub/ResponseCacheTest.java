@@ -0,0 +1,77 @@
+package repository_information.GitHub;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCacheTest {
+
+    private static final URI README = URI.create("https://api.github.com/repos/owner/repo/readme");
+
+    private static final URI TREE = URI.create("https://api.github.com/repos/owner/repo/git/trees/HEAD");
+
+    @TempDir
+    Path cachePath;
+
+    @Test
+    void testResponseIsKeptAcrossRuns() {
+        new ResponseCache(cachePath, Long.MAX_VALUE, Duration.ofHours(1)).put(README, "\"abc\"", null, "body");
+
+        ResponseCache.Entry entry = new ResponseCache(cachePath, Long.MAX_VALUE, Duration.ofHours(1)).get(README);
+
+        assertNotNull(entry);
+        assertEquals("\"abc\"", entry.etag());
+        assertEquals("body", entry.body());
+        assertNull(new ResponseCache(cachePath, Long.MAX_VALUE, Duration.ofHours(1)).get(TREE));
+    }
+
+    @Test
+    void testResponseWithoutValidatorIsNotCached() {
+        ResponseCache cache = new ResponseCache(cachePath, Long.MAX_VALUE, Duration.ofHours(1));
+        cache.put(README, null, null, "body");
+
+        assertNull(cache.get(README));
+    }
+
+    @Test
+    void testExpiredResponseIsDeleted() {
+        ResponseCache cache = new ResponseCache(cachePath, Long.MAX_VALUE, Duration.ofMillis(-1));
+        cache.put(README, "\"abc\"", null, "body");
+
+        assertNull(cache.get(README));
+    }
+
+    @Test
+    void testLeastRecentlyValidatedResponseIsEvicted() throws Exception {
+        // Fits one response, but not two.
+        ResponseCache cache = new ResponseCache(cachePath, 150, Duration.ofHours(1));
+        cache.put(README, "\"abc\"", null, "readme");
+        Thread.sleep(20);
+        cache.put(TREE, "\"def\"", null, "tree");
+
+        assertNull(cache.get(README));
+        assertNotNull(cache.get(TREE));
+    }
+
+    @Test
+    void testLeastRecentlyUsedResponseIsEvicted() {
+        URI contents = URI.create("https://api.github.com/repos/owner/repo/contents/docs");
+        // Fits two responses, but not three.
+        ResponseCache cache = new ResponseCache(cachePath, 300, Duration.ofHours(1));
+        cache.put(README, "\"abc\"", null, "readme");
+        cache.put(TREE, "\"def\"", null, "tree");
+        assertNotNull(cache.get(README));
+        cache.put(contents, "\"ghi\"", null, "docs");
+
+        assertNotNull(cache.get(README));
+        assertNull(cache.get(TREE));
+        assertNotNull(cache.get(contents));
+    }
+}
@@ -0,0 +1,87 @@
+package repository_information.GitHub;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchCursorTest {
+
+    private static final SearchCursor.DateRange YEAR_2020 =
+            new SearchCursor.DateRange(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31));
+
+    @Test
+    void testQuery() {
+        SearchCursor cursor = new SearchCursor("spring boot", 100, 100, YEAR_2020);
+
+        assertEquals("spring%20boot+stars%3A%3E100+created%3A2020-01-01..2020-12-31", cursor.getQuery());
+        assertEquals(1, cursor.getPage());
+    }
+
+    @Test
+    void testPagesTillEndOfResults() {
+        SearchCursor cursor = new SearchCursor(null, 100, 100, YEAR_2020);
+
+        cursor.advance(250, 100);
+        assertEquals(2, cursor.getPage());
+        cursor.advance(250, 100);
+        assertEquals(3, cursor.getPage());
+        cursor.advance(250, 50);
+        assertTrue(cursor.isFinished());
+    }
+
+    @Test
+    void testStopsAtExactMultipleOfPageSize() {
+        SearchCursor cursor = new SearchCursor(null, 100, 100, YEAR_2020);
+
+        cursor.advance(200, 100);
+        cursor.advance(200, 100);
+        assertTrue(cursor.isFinished());
+    }
+
+    @Test
+    void testSplitsRangeAboveResultCap() {
+        SearchCursor cursor = new SearchCursor(null, 100, 100, YEAR_2020);
+
+        cursor.advance(SearchCursor.RESULT_CAP + 1, 100);
+        assertEquals(1, cursor.getPage());
+        assertEquals("stars%3A%3E100+created%3A2020-01-01..2020-07-01", cursor.getQuery());
+
+        cursor.advance(10, 10);
+        assertFalse(cursor.isFinished());
+        assertEquals("stars%3A%3E100+created%3A2020-07-02..2020-12-31", cursor.getQuery());
+
+        cursor.advance(10, 10);
+        assertTrue(cursor.isFinished());
+    }
+
+    @Test
+    void testSingleDayIsPagedUpToResultCap() {
+        LocalDate day = LocalDate.of(2020, 1, 1);
+        SearchCursor cursor = new SearchCursor(null, 100, 100, new SearchCursor.DateRange(day, day));
+
+        for (int i = 0; i < 9; i++) {
+            cursor.advance(5000, 100);
+        }
+        assertEquals(10, cursor.getPage());
+        cursor.advance(5000, 100);
+        assertTrue(cursor.isFinished());
+    }
+
+    @Test
+    void testContinuesFromSavedState() {
+        SearchCursor cursor = new SearchCursor("spring boot", 100, 100, YEAR_2020);
+        cursor.advance(1500, 100);
+        cursor.advance(800, 100);
+
+        SearchCursor restored = new SearchCursor(cursor.getState());
+
+        assertEquals(cursor.getQuery(), restored.getQuery());
+        assertEquals(2, restored.getPage());
+        restored.advance(800, 100);
+        assertEquals(3, restored.getPage());
+    }
+}
@@ -0,0 +1,107 @@
+package repository_information.GitHub;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    void testUnknownLimitIsNotPaced() {
+        TokenBucket bucket = new TokenBucket(1, 0.1, now::get);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, bucket.reserve(false));
+        }
+    }
+
+    @Test
+    void testPacesAfterBurst() {
+        TokenBucket bucket = new TokenBucket(2, 0.0, now::get);
+        // 100 requests in 100 seconds: one request per second.
+        bucket.update(100, 100, now.get() + 100_000);
+
+        assertEquals(0, bucket.reserve(false));
+        assertEquals(0, bucket.reserve(false));
+        long delay = bucket.reserve(false);
+        assertTrue(delay > 900 && delay <= 1100, "delay: " + delay);
+
+        now.addAndGet(delay);
+        assertEquals(0, bucket.reserve(false));
+    }
+
+    @Test
+    void testReserveIsOnlyForCriticalRequests() {
+        TokenBucket bucket = new TokenBucket(10, 0.1, now::get);
+        bucket.update(100, 10, now.get() + 60_000);
+
+        long delay = bucket.reserve(false);
+        assertEquals(60_000, delay);
+        assertEquals(0, bucket.reserve(true));
+    }
+
+    @Test
+    void testBudgetIsRestoredAfterReset() {
+        TokenBucket bucket = new TokenBucket(10, 0.0, now::get);
+        bucket.update(100, 0, now.get() + 1000);
+
+        assertTrue(bucket.reserve(true) > 0);
+        now.addAndGet(1000);
+        assertEquals(0, bucket.reserve(true));
+    }
+
+    @Test
+    void testOutdatedResponseDoesNotRaiseBudget() {
+        TokenBucket bucket = new TokenBucket(10, 0.0, now::get);
+        long reset = now.get() + 60_000;
+        bucket.update(100, 1, reset);
+        bucket.update(100, 50, reset);
+
+        assertEquals(0, bucket.reserve(true));
+        assertTrue(bucket.reserve(true) > 0);
+    }
+
+    @Test
+    void testPacingIsReportedOncePerWindow() {
+        TokenBucket bucket = new TokenBucket(10, 0.0, now::get);
+        bucket.update(100, 0, now.get() + 1000);
+
+        assertTrue(bucket.report());
+        assertFalse(bucket.report());
+        bucket.update(100, 0, now.get() + 2000);
+        assertTrue(bucket.report());
+    }
+
+    @Test
+    void testConcurrentReservationsDontExceedBudget() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1000, 0.0, now::get);
+        bucket.update(500, 500, now.get() + 60_000);
+        AtomicInteger permits = new AtomicInteger();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                for (int j = 0; j < 100; j++) {
+                    if (bucket.reserve(true) == 0) {
+                        permits.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(500, permits.get());
+        assertEquals(0, bucket.getRequestsLeft());
+    }
+}
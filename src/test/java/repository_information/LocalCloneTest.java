@@ -0,0 +1,84 @@
+package repository_information;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.Globals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LocalCloneTest {
+
+    @TempDir
+    Path repoPath;
+
+    private void createRepository() throws Exception {
+        Files.createDirectories(repoPath.resolve("docs"));
+        Files.writeString(repoPath.resolve("README.md"), "# Readme");
+        Files.writeString(repoPath.resolve("docs/architecture.md"), "arc42");
+        Files.writeString(repoPath.resolve("docs/logo.png"), "png");
+        try (Git git = Git.init().setDirectory(repoPath.toFile()).call()) {
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("init").setSign(false).setAuthor("test", "test@example.org")
+                    .setCommitter("test", "test@example.org").call();
+        }
+    }
+
+    @Test
+    void testStructureContainsDirectoriesAndFiles() throws Exception {
+        createRepository();
+
+        JsonNode structure = LocalClone.getStructure(repoPath);
+
+        Map<String, String> types = new HashMap<>();
+        for (JsonNode entry : structure) {
+            types.put(entry.get("path").asText(), entry.get("type").asText());
+        }
+        assertEquals(Map.of("README.md", "blob", "docs", "tree", "docs/architecture.md", "blob",
+                "docs/logo.png", "blob"), types);
+    }
+
+    @Test
+    void testReadFilesFromBareClone(@TempDir Path clonePath) throws Exception {
+        createRepository();
+        Git.cloneRepository().setURI(repoPath.toUri().toString()).setDirectory(clonePath.toFile()).setBare(true)
+                .call().close();
+
+        Map<String, String> files = LocalClone.readFiles(clonePath, List.of("README.md", "docs/architecture.md", "missing.md"));
+
+        assertEquals(Map.of("README.md", "# Readme", "docs/architecture.md", "arc42"), files);
+        assertEquals(4, LocalClone.getStructure(clonePath).size());
+    }
+
+    @Test
+    void testPathsMatchingFilter() throws Exception {
+        createRepository();
+
+        try (Git git = Git.open(repoPath.toFile())) {
+            assertEquals(List.of("README.md", "docs/architecture.md"), LocalClone.getPaths(git, path -> path.endsWith(".md")));
+        }
+    }
+
+    @Test
+    void testLargeFilesAreSkipped() throws Exception {
+        Files.createDirectories(repoPath.resolve("docs"));
+        Files.writeString(repoPath.resolve("docs/large.md"), "a".repeat(3 * 1024));
+        createRepository();
+        int maxSize = Globals.MAX_TEXT_FILE_SIZE;
+        Globals.MAX_TEXT_FILE_SIZE = 2;
+        try {
+            Map<String, String> files = LocalClone.readFiles(repoPath, List.of("README.md", "docs/large.md"));
+
+            assertEquals(Map.of("README.md", "# Readme"), files);
+        } finally {
+            Globals.MAX_TEXT_FILE_SIZE = maxSize;
+        }
+    }
+}
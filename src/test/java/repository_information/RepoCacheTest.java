@@ -0,0 +1,55 @@
+package repository_information;
+
+import model.TextFile;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RepoCacheTest {
+
+    /**
+     * Answers like the archive of the repository: the upcoming files are transferred with the requested ones.
+     */
+    private static class ArchiveProxy extends CloneProxy {
+
+        private final List<List<String>> requests = new ArrayList<>();
+
+        ArchiveProxy() {
+            super("repo", "owner");
+        }
+
+        @Override
+        public Map<String, String> getFiles(List<String> paths, List<String> upcoming) {
+            requests.add(List.copyOf(paths));
+            Map<String, String> files = new HashMap<>();
+            for (String path : paths) {
+                files.put(path, "content of " + path);
+            }
+            for (String path : upcoming) {
+                files.put(path, "content of " + path);
+            }
+            return files;
+        }
+    }
+
+    @Test
+    void testUpcomingFilesOfTheArchiveAreServedFromTheCache() throws Exception {
+        ArchiveProxy proxy = new ArchiveProxy();
+        RepoCache cache = new RepoCache(proxy);
+        List<String> paths = List.of("a.md", "b.md", "c.md", "d.md");
+
+        List<TextFile> first = cache.getTextFiles(paths.subList(0, 2), paths.subList(2, 4));
+        List<TextFile> second = cache.getTextFiles(paths.subList(2, 4), List.of());
+
+        assertEquals(2, first.size());
+        assertEquals(2, second.size());
+        assertEquals("content of c.md", second.stream().filter(file -> file.getPath().equals("c.md"))
+                .findFirst().orElseThrow().getContent());
+        assertEquals(List.of(List.of("a.md", "b.md")), proxy.requests);
+    }
+}
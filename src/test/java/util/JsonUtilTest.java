@@ -0,0 +1,110 @@
+package util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import model.Repository;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonUtilTest {
+
+    /**
+     * Response of the metadata query for an organization's repository, a deleted repository and a user's repository.
+     * The alias of a fourth repository is missing.
+     */
+    private static final String METADATA_RESPONSE = """
+            {
+              "data": {
+                "r0": {
+                  "stargazerCount": 412,
+                  "diskUsage": 18234,
+                  "pushedAt": "2024-05-02T09:13:44Z",
+                  "defaultBranchRef": { "name": "master" },
+                  "owner": {
+                    "repositories": {
+                      "nodes": [ { "name": "TeaStore" }, { "name": "Descartes" } ]
+                    }
+                  }
+                },
+                "r1": null,
+                "r2": {
+                  "stargazerCount": 3,
+                  "diskUsage": 120,
+                  "pushedAt": null,
+                  "defaultBranchRef": null,
+                  "owner": {}
+                }
+              },
+              "errors": [
+                {
+                  "type": "NOT_FOUND",
+                  "path": [ "r1" ],
+                  "message": "Could not resolve to a Repository with the name 'owner/deleted'."
+                }
+              ]
+            }
+            """;
+
+    private static final Repository ORGANIZATION_REPO = new Repository("TeaStore", "DescartesResearch");
+    private static final Repository DELETED_REPO = new Repository("deleted", "owner");
+    private static final Repository USER_REPO = new Repository("biking2", "michael-simons");
+    private static final Repository MISSING_REPO = new Repository("missing", "owner");
+
+    private static Map<Repository, JsonNode> parseMetadata() throws IOException {
+        return JsonUtil.parseGraphQLMetadata(new ObjectMapper().readTree(METADATA_RESPONSE),
+                List.of(ORGANIZATION_REPO, DELETED_REPO, USER_REPO, MISSING_REPO));
+    }
+
+    @Test
+    void testMetadataLeavesOutNullAndMissingAliases() throws IOException {
+        Map<Repository, JsonNode> metadata = parseMetadata();
+
+        assertEquals(2, metadata.size());
+        assertTrue(metadata.containsKey(ORGANIZATION_REPO));
+        assertTrue(metadata.containsKey(USER_REPO));
+        assertFalse(metadata.containsKey(DELETED_REPO));
+        assertFalse(metadata.containsKey(MISSING_REPO));
+    }
+
+    @Test
+    void testMetadataWithoutData() throws IOException {
+        JsonNode error = new ObjectMapper().readTree("{\"errors\": [{\"message\": \"Bad credentials\"}]}");
+
+        assertTrue(JsonUtil.parseGraphQLMetadata(error, List.of(ORGANIZATION_REPO)).isEmpty());
+    }
+
+    @Test
+    void testGeneralInfoOfOrganizationRepository() throws IOException {
+        JsonNode generalInfo = JsonUtil.parseGraphQLGeneralInfo(parseMetadata().get(ORGANIZATION_REPO));
+
+        assertEquals(412, generalInfo.get("stargazers_count").asInt());
+        assertEquals(18234, generalInfo.get("size").asInt());
+        assertEquals("2024-05-02T09:13:44Z", generalInfo.get("pushed_at").asText());
+        assertEquals("master", generalInfo.get("default_branch").asText());
+    }
+
+    @Test
+    void testGeneralInfoLeavesOutNullFields() throws IOException {
+        JsonNode generalInfo = JsonUtil.parseGraphQLGeneralInfo(parseMetadata().get(USER_REPO));
+
+        assertEquals(3, generalInfo.get("stargazers_count").asInt());
+        assertFalse(generalInfo.has("pushed_at"));
+        assertFalse(generalInfo.has("default_branch"));
+    }
+
+    @Test
+    void testOwnersRepositories() throws IOException {
+        assertArrayEquals(new String[]{"TeaStore", "Descartes"},
+                JsonUtil.parseGraphQLOwnersRepositories(parseMetadata().get(ORGANIZATION_REPO)));
+        // Users don't match the organization fragment, so their owner node is empty.
+        assertArrayEquals(new String[0], JsonUtil.parseGraphQLOwnersRepositories(parseMetadata().get(USER_REPO)));
+    }
+}
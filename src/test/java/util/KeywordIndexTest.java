@@ -0,0 +1,27 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeywordIndexTest {
+
+    @Test
+    void testMatchersAreCompiledOnce() {
+        assertSame(KeywordIndex.getAll(), KeywordIndex.getAll());
+        assertSame(KeywordIndex.get("UML"), KeywordIndex.get("UML"));
+        assertSame(KeywordIndex.get("general-architecture", "UML"), KeywordIndex.get("general-architecture", "UML"));
+    }
+
+    @Test
+    void testGroupsOfTheJsonFile() {
+        KeywordMatcher matcher = KeywordIndex.get("general-architecture", "UML");
+
+        assertEquals(JsonKeywords.getSpecificKeywords("general-architecture").size()
+                + JsonKeywords.getSpecificKeywords("UML").size(), matcher.size());
+        assertEquals(JsonKeywords.getAllKeywords().length, KeywordIndex.getAll().size());
+        assertThrows(IllegalArgumentException.class, () -> KeywordIndex.get("no-such-group"));
+    }
+}
@@ -0,0 +1,92 @@
+package util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the {@link KeywordMatcher} with the former search of the KeyWord rule, which compiled one regex per
+ * keyword and scanned the file once per keyword. Both count the keywords of keywords.json found in a markdown file.
+ * <p>
+ * Run after "mvn test-compile" with the test classpath, e.g. from the IDE, or with:
+ * "mvn exec:java -Dexec.mainClass=util.KeywordMatcherBenchmark -Dexec.classpathScope=test"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeywordMatcherBenchmark {
+
+    private static final String[] FILLER = {"the", "a", "of", "to", "install", "run", "build", "configure", "and",
+            "project", "see", "example", "```bash", "mvn", "package", "##", "-", "[link](https://example.org)", "\n"};
+
+    /**
+     * Size of the markdown file in characters.
+     */
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private String[] keywords;
+
+    private KeywordMatcher matcher;
+
+    private String markdown;
+
+    @Setup(Level.Trial)
+    public void createMarkdown() {
+        keywords = JsonKeywords.getAllKeywords();
+        matcher = KeywordIndex.getAll();
+
+        // Mostly filler words, with a keyword every 50 words on average.
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder(size + 100);
+        while (builder.length() < size) {
+            if (random.nextInt(50) == 0) {
+                builder.append(keywords[random.nextInt(keywords.length)]);
+            } else {
+                builder.append(FILLER[random.nextInt(FILLER.length)]);
+            }
+            builder.append(' ');
+        }
+        markdown = builder.toString();
+    }
+
+    @Benchmark
+    public int regexPerKeyword() {
+        int count = 0;
+        for (String keyword : keywords) {
+            if (!keyword.isEmpty()
+                    && Pattern.compile(Pattern.quote(keyword), Pattern.CASE_INSENSITIVE).matcher(markdown).find()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int keywordMatcher() {
+        return matcher.find(markdown).cardinality();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(KeywordMatcherBenchmark.class.getSimpleName()).build()).run();
+    }
+}
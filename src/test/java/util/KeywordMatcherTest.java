@@ -0,0 +1,52 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KeywordMatcherTest {
+
+    @Test
+    void testFindsOverlappingKeywordsCaseInsensitive() {
+        KeywordMatcher matcher = new KeywordMatcher(List.of("he", "she", "his", "hers"));
+
+        List<String> found = new ArrayList<>();
+        matcher.scan("USHERS", (keyword, end) -> found.add(matcher.getKeyword(keyword) + "@" + end));
+
+        assertEquals(List.of("she@4", "he@4", "hers@6"), found);
+    }
+
+    @Test
+    void testRepeatedKeywordsAreCountedPerEntry() {
+        Map<String, List<String>> groups = new LinkedHashMap<>();
+        groups.put("a", List.of("Event-Driven", "REST", "Event-Driven"));
+        groups.put("b", List.of("rest", "", "soap"));
+        KeywordMatcher matcher = new KeywordMatcher(groups);
+
+        assertArrayEquals(new int[]{3, 1}, matcher.countPerGroup("An event-driven RESTful service."));
+        assertArrayEquals(new int[]{0, 0}, matcher.countPerGroup(""));
+    }
+
+    @Test
+    void testSameResultAsRegex() {
+        List<String> keywords = List.of("Class Diagram", "doc", "docs", "UML", "Ä", "pattern", "Singleton");
+        String text = "# Docs\nThe class  diagram is in the UML folder, see the singleton pattern in DOC.md. ä Ä";
+        KeywordMatcher matcher = new KeywordMatcher(keywords);
+
+        BitSet expected = new BitSet();
+        for (int i = 0; i < keywords.size(); i++) {
+            if (Pattern.compile(Pattern.quote(keywords.get(i)), Pattern.CASE_INSENSITIVE).matcher(text).find()) {
+                expected.set(i);
+            }
+        }
+        assertEquals(expected, matcher.find(text));
+    }
+}
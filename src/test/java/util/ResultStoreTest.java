@@ -0,0 +1,106 @@
+package util;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import controller.Rule;
+import controller.RuleInput;
+import controller.RuleType;
+import model.Repository;
+import model.RepositoryAspectEval;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResultStoreTest {
+
+    private static class ContentRule extends Rule {
+
+        ContentRule(Repository repository) {
+            super(RuleType.MANDATORY, repository);
+        }
+
+        @Override
+        public RepositoryAspectEval execute() {
+            return new RepositoryAspectEval(1);
+        }
+
+        @Override
+        public int getMaxPoints() {
+            return 1;
+        }
+    }
+
+    private static Repository repository(String pushedAt) {
+        ObjectNode generalInfo = JsonNodeFactory.instance.objectNode()
+                .put("stargazers_count", 42)
+                .put("pushed_at", pushedAt);
+        return new Repository("repo", "owner", generalInfo);
+    }
+
+    @Test
+    void testReusesResultsOfUnchangedInputAcrossRuns(@TempDir Path tempDir) {
+        Path path = tempDir.resolve("results.jsonl");
+        Repository repository = repository("2024-01-01T00:00:00Z");
+        Rule rule = new ContentRule(repository);
+        String version = ResultStore.getVersion(repository, RuleInput.CONTENT);
+
+        ResultStore store = new ResultStore(path);
+        assertNull(store.getResult(repository, rule, version));
+        store.putResult(repository, rule, version, new RepositoryAspectEval("No readme found"));
+        store.save(repository);
+
+        ResultStore nextRun = new ResultStore(path);
+        RepositoryAspectEval reused = nextRun.getResult(repository, rule, version);
+        assertNotNull(reused);
+        assertFalse(reused.isApplicable());
+        assertEquals("No readme found", reused.getFailureMessage());
+
+        Repository pushed = repository("2024-02-01T00:00:00Z");
+        assertNull(nextRun.getResult(pushed, new ContentRule(pushed), ResultStore.getVersion(pushed, RuleInput.CONTENT)));
+    }
+
+    @Test
+    void testKeepsLastEvaluationOfRepository(@TempDir Path tempDir) {
+        Path path = tempDir.resolve("results.jsonl");
+        Repository repository = repository("2024-01-01T00:00:00Z");
+        Rule rule = new ContentRule(repository);
+
+        ResultStore store = new ResultStore(path);
+        store.putResult(repository, rule, "a", new RepositoryAspectEval(1));
+        store.save(repository);
+        store.putResult(repository, rule, "b", new RepositoryAspectEval(3));
+        store.save(repository);
+
+        ResultStore nextRun = new ResultStore(path);
+        assertNull(nextRun.getResult(repository, rule, "a"));
+        assertEquals(3, nextRun.getResult(repository, rule, "b").getPoints());
+    }
+
+    @Test
+    void testExecutesFailedRuleAgainInNextRun(@TempDir Path tempDir) {
+        Path path = tempDir.resolve("results.jsonl");
+        Repository repository = repository("2024-01-01T00:00:00Z");
+        Rule rule = new ContentRule(repository);
+        String version = ResultStore.getVersion(repository, RuleInput.CONTENT);
+
+        ResultStore store = new ResultStore(path);
+        store.putResult(repository, rule, version, new RepositoryAspectEval("Error while getting LLM response"));
+        store.save(repository);
+
+        assertNull(new ResultStore(path).getResult(repository, rule, version));
+    }
+
+    @Test
+    void testOwnerHasNoVersion() {
+        Repository repository = repository("2024-01-01T00:00:00Z");
+
+        assertNull(ResultStore.getVersion(repository, RuleInput.OWNER));
+        assertEquals("42", ResultStore.getVersion(repository, RuleInput.METADATA));
+    }
+}
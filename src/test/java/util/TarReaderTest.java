@@ -0,0 +1,87 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class TarReaderTest {
+
+    @Test
+    void testReadsRequestedFilesWithoutTopLevelFolder() throws IOException {
+        ByteArrayOutputStream tar = new ByteArrayOutputStream();
+        addEntry(tar, "owner-repo-abc123/", '5', new byte[0]);
+        addEntry(tar, "owner-repo-abc123/README.md", '0', "# Readme".getBytes(StandardCharsets.UTF_8));
+        addEntry(tar, "owner-repo-abc123/src/Main.java", '0', "class Main {}".getBytes(StandardCharsets.UTF_8));
+        addEntry(tar, "owner-repo-abc123/docs/architecture.md", '0', "arc42".getBytes(StandardCharsets.UTF_8));
+
+        Map<String, String> files = TarReader.readFiles(gzip(tar), Set.of("README.md", "docs/architecture.md"));
+
+        assertEquals(2, files.size());
+        assertEquals("# Readme", files.get("README.md"));
+        assertEquals("arc42", files.get("docs/architecture.md"));
+        assertFalse(files.containsKey("src/Main.java"));
+    }
+
+    @Test
+    void testReadsPaxPath() throws IOException {
+        String longPath = "owner-repo-abc123/" + "folder/".repeat(20) + "file.md";
+        String record = " path=" + longPath + "\n";
+        // The length of a pax record includes its own digits.
+        int length = record.length() + 3;
+        ByteArrayOutputStream tar = new ByteArrayOutputStream();
+        addEntry(tar, "pax_header", 'x', (length + record).getBytes(StandardCharsets.UTF_8));
+        addEntry(tar, "truncated", '0', "content".getBytes(StandardCharsets.UTF_8));
+
+        Map<String, String> files = TarReader.readFiles(gzip(tar), Set.of(longPath.substring(longPath.indexOf('/') + 1)));
+
+        assertEquals(1, files.size());
+        assertEquals("content", files.values().iterator().next());
+    }
+
+    @Test
+    void testSkipsFilesAboveMaximalSize() throws IOException {
+        int maxTextFileSize = Globals.MAX_TEXT_FILE_SIZE;
+        Globals.MAX_TEXT_FILE_SIZE = 1;
+        try {
+            ByteArrayOutputStream tar = new ByteArrayOutputStream();
+            addEntry(tar, "owner-repo-abc123/large.md", '0', "x".repeat(1025).getBytes(StandardCharsets.UTF_8));
+            addEntry(tar, "owner-repo-abc123/README.md", '0', "# Readme".getBytes(StandardCharsets.UTF_8));
+
+            Map<String, String> files = TarReader.readFiles(gzip(tar), Set.of("large.md", "README.md"));
+
+            assertEquals(Map.of("README.md", "# Readme"), files);
+        } finally {
+            Globals.MAX_TEXT_FILE_SIZE = maxTextFileSize;
+        }
+    }
+
+    private static void addEntry(ByteArrayOutputStream tar, String name, char type, byte[] content) {
+        byte[] header = new byte[512];
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(nameBytes, 0, header, 0, nameBytes.length);
+        byte[] size = String.format("%011o", content.length).getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(size, 0, header, 124, size.length);
+        header[156] = (byte) type;
+        tar.writeBytes(header);
+        tar.writeBytes(content);
+        tar.writeBytes(new byte[(512 - content.length % 512) % 512]);
+    }
+
+    private static ByteArrayInputStream gzip(ByteArrayOutputStream tar) throws IOException {
+        tar.writeBytes(new byte[1024]);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(tar.toByteArray());
+        }
+        return new ByteArrayInputStream(compressed.toByteArray());
+    }
+}